@@ -6,6 +6,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.4.3"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.example.pixel"
@@ -13,7 +14,7 @@ version = "0.0.1-SNAPSHOT"
 
 java {
 	toolchain {
-		languageVersion.set(JavaLanguageVersion.of(17))
+		languageVersion.set(JavaLanguageVersion.of(21))
 	}
 }
 
@@ -70,6 +71,12 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("load")
+	}
+}
+
 tasks.register<Test>("integrationTest") {
 	useJUnitPlatform {
 		includeTags("integration")
@@ -78,6 +85,29 @@ tasks.register<Test>("integrationTest") {
 
 tasks.register<Test>("unitTest") {
 	useJUnitPlatform {
-		excludeTags("integration")
+		excludeTags("integration", "load")
 	}
 }
+
+tasks.register<Test>("loadTest") {
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+}
+
+jmh {
+	jmhVersion.set("1.37")
+	fork.set(1)
+	warmupIterations.set(3)
+	iterations.set(5)
+	// Allocation rate per operation next to the timings
+	profilers.set(listOf("gc"))
+	// Machine-readable results, to compare runs between commits
+	resultFormat.set("JSON")
+	resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+	// e.g. ./gradlew jmh -Pjmh.includes=GraphBenchmark
+	providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,90 @@
+package com.example.pixel.graph;
+
+import com.example.pixel.graph.dto.CreateGraphRequest;
+import com.example.pixel.graph.dto.FailurePolicy;
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.graph.service.GraphValidator;
+import com.example.pixel.node.service.NodeTypeRegistry;
+import com.example.pixel.node_execution.model.Node;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of accepting a graph and of walking its compiled form. Validation
+ * compiles the graph iteratively, so deep chains run at these sizes without
+ * overflowing the stack, and node types are checked against an in-memory registry.
+ * <p>
+ * Run with {@code ./gradlew jmh}; results are written to
+ * {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GraphBenchmark {
+
+    @Param({"chain", "fan", "diamond", "random"})
+    private String shape;
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int nodes;
+
+    private List<Node> raw;
+    private CreateGraphRequest request;
+    private GraphValidator graphValidator;
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        raw = GraphShapes.build(shape, nodes);
+        request = new CreateGraphRequest("benchmark", null, raw, FailurePolicy.FAIL_FAST);
+        graphValidator = new GraphValidator(new StaticNodeTypeRegistry());
+        graph = new Graph(raw);
+    }
+
+    @Benchmark
+    public Graph validateGraphIntegrity() {
+        return graphValidator.validateGraphIntegrity(request);
+    }
+
+    @Benchmark
+    public Graph construct() {
+        return new Graph(raw);
+    }
+
+    @Benchmark
+    public void iterateLevels(Blackhole blackhole) {
+        Iterator<List<Node>> levels = graph.levelIterator();
+        while (levels.hasNext()) {
+            for (Node node : levels.next()) {
+                blackhole.consume(graph.getDependents(node.getId()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterateNodes(Blackhole blackhole) {
+        Iterator<Node> iterator = graph.nodeIterator();
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    /**
+     * Registry answering for the single benchmark node type, without a database behind it.
+     */
+    private static class StaticNodeTypeRegistry extends NodeTypeRegistry {
+        private static final Set<String> INPUTS = Set.of("input_0", "input_1", "input_2");
+
+        StaticNodeTypeRegistry() {
+            super(null, null);
+        }
+
+        @Override
+        public Optional<Set<String>> inputNames(String type) {
+            return GraphShapes.NODE_TYPE.equals(type) ? Optional.of(INPUTS) : Optional.empty();
+        }
+    }
+}
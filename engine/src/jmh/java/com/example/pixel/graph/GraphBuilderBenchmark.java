@@ -0,0 +1,45 @@
+package com.example.pixel.graph;
+
+import com.example.pixel.graph.service.GraphBuilder;
+import com.example.pixel.node_execution.model.Node;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing references and of compiling a graph as graphs grow. Both are
+ * linear in nodes plus references, so the average time per operation should grow
+ * about tenfold from one {@code nodes} value to the next, for every shape.
+ * <p>
+ * Run with {@code ./gradlew jmh}; results are written to
+ * {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GraphBuilderBenchmark {
+
+    @Param({"chain", "fan", "diamond", "random"})
+    private String shape;
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int nodes;
+
+    private List<Node> raw;
+
+    @Setup
+    public void setup() {
+        raw = GraphShapes.build(shape, nodes);
+    }
+
+    @Benchmark
+    public List<Node> setupReferences() {
+        return GraphBuilder.setupReferences(raw);
+    }
+
+    @Benchmark
+    public GraphBuilder.CompiledGraph compile() {
+        return GraphBuilder.compile(raw);
+    }
+}
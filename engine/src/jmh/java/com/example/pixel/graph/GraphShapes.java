@@ -0,0 +1,62 @@
+package com.example.pixel.graph;
+
+import com.example.pixel.node_execution.model.Node;
+
+import java.util.*;
+
+/**
+ * Synthetic graphs for the graph benchmarks. Nodes are shuffled, so sorting has to
+ * follow the references rather than the input order.
+ */
+final class GraphShapes {
+
+    static final String NODE_TYPE = "blur";
+    private static final int MAX_INPUTS = 3;
+
+    private GraphShapes() {}
+
+    /**
+     * Builds a graph of the given shape:
+     * <ul>
+     *   <li>{@code chain}: every node consumes the previous one</li>
+     *   <li>{@code fan}: every node consumes the first one</li>
+     *   <li>{@code diamond}: diamonds in series, two branches splitting and joining again</li>
+     *   <li>{@code random}: up to {@value MAX_INPUTS} inputs from any earlier node</li>
+     * </ul>
+     */
+    static List<Node> build(String shape, int size) {
+        Random random = new Random(42);
+        List<Node> nodes = new ArrayList<>(size);
+        for (long id = 0; id < size; id++) {
+            Map<String, Object> inputs = new HashMap<>();
+            if (id > 0) {
+                switch (shape) {
+                    case "chain" -> inputs.put("input_0", reference(id - 1));
+                    case "fan" -> inputs.put("input_0", reference(0));
+                    case "diamond" -> {
+                        if (id % 3 == 0) {
+                            inputs.put("input_0", reference(id - 1));
+                            inputs.put("input_1", reference(id - 2));
+                        } else {
+                            inputs.put("input_0", reference(id - id % 3));
+                        }
+                    }
+                    case "random" -> {
+                        int inputCount = 1 + random.nextInt((int) Math.min(id, MAX_INPUTS));
+                        for (int j = 0; j < inputCount; j++) {
+                            inputs.put("input_" + j, reference(random.nextInt((int) id)));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown graph shape: " + shape);
+                }
+            }
+            nodes.add(new Node(id, NODE_TYPE, inputs));
+        }
+        Collections.shuffle(nodes, random);
+        return nodes;
+    }
+
+    private static String reference(long nodeId) {
+        return "@node:" + nodeId + ":output";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.node_execution.model.NodeReference;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reading the node id and output name of every reference of a graph, the way graph
+ * linking and input resolution do. {@code regexPerAccess} reproduces the former
+ * behaviour of matching the reference string on every call; compare its
+ * {@code gc.alloc.rate.norm} with {@code preParsed}, which should be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeReferenceBenchmark {
+
+    private static final Pattern NODE_REF_PATTERN = Pattern.compile("@node:(\\d+):(\\w+)");
+    private static final int REFERENCES = 10_000;
+
+    private final List<NodeReference> references = new ArrayList<>();
+    private final List<String> raw = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < REFERENCES; i++) {
+            String reference = "@node:" + i + ":output";
+            raw.add(reference);
+            references.add(new NodeReference(reference));
+        }
+    }
+
+    @Benchmark
+    public long preParsed() {
+        long checksum = 0;
+        for (NodeReference reference : references) {
+            checksum += reference.getNodeId() + reference.getOutputName().length();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long regexPerAccess() {
+        long checksum = 0;
+        for (String reference : raw) {
+            Matcher matcher = NODE_REF_PATTERN.matcher(reference);
+            matcher.matches();
+            Long nodeId = Long.parseLong(matcher.group(1));
+            checksum += nodeId + matcher.group(2).length();
+        }
+        return checksum;
+    }
+}
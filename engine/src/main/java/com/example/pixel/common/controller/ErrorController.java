@@ -26,6 +26,7 @@ public class ErrorController {
             GraphNotFoundException.class,
             NoSuchBucketException.class,
             GraphExecutionNotFoundException.class,
+            NodeExecutionNotFoundException.class,
             ConnectionNotFoundException.class
     })
     public ResponseEntity<?> handleNotFound(Exception ex, HttpServletRequest request) {
@@ -60,6 +61,22 @@ public class ErrorController {
         return ResponseEntity. status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorInfo);
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(InvalidGraphExecutionStateException.class)
+    public ResponseEntity<?> handleConflict(Exception ex, HttpServletRequest request) {
+        String requestUrl = request.getRequestURL().toString();
+        ErrorInfo errorInfo = new ErrorInfo(requestUrl, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorInfo);
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(ExecutionQueueFullException.class)
+    public ResponseEntity<?> handleTooManyRequests(Exception ex, HttpServletRequest request) {
+        String requestUrl = request.getRequestURL().toString();
+        ErrorInfo errorInfo = new ErrorInfo(requestUrl, ex);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorInfo);
+    }
+
     @ResponseStatus(HttpStatus.FORBIDDEN)
     @ExceptionHandler(S3Exception.class)
     public ResponseEntity<?> handleS3Exception(S3Exception ex, HttpServletRequest request) {
@@ -0,0 +1,7 @@
+package com.example.pixel.common.exception;
+
+public class ExecutionCancelledException extends RuntimeException {
+    public ExecutionCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.pixel.common.exception;
+
+public class ExecutionQueueFullException extends RuntimeException {
+    public ExecutionQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.pixel.common.exception;
+
+public class InvalidGraphExecutionStateException extends IllegalStateException {
+    public InvalidGraphExecutionStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.pixel.common.exception;
+
+public class NodeExecutionNotFoundException extends IllegalArgumentException {
+    public NodeExecutionNotFoundException(String message) {
+        super(message);
+    }
+}
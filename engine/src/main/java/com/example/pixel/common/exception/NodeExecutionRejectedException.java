@@ -0,0 +1,10 @@
+package com.example.pixel.common.exception;
+
+public class NodeExecutionRejectedException extends RuntimeException {
+    public NodeExecutionRejectedException(String message) {
+        super(message);
+    }
+    public NodeExecutionRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
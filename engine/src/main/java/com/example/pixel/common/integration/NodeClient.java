@@ -1,23 +1,54 @@
 package com.example.pixel.common.integration;
 
+import com.example.pixel.node_execution.dto.NodeBatchRequest;
+import com.example.pixel.node_execution.dto.NodeBatchResponse;
+import com.example.pixel.node_execution.dto.NodeChainRequest;
+import com.example.pixel.node_execution.dto.NodeChainResponse;
 import com.example.pixel.node_execution.dto.NodeClientData;
 import com.example.pixel.node_execution.dto.NodeExecutionResponse;
 import com.example.pixel.node_execution.dto.NodeValidationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
 @Slf4j
 @Component
 public class NodeClient {
     private final static String REQUEST_FAILED_MESSAGE = "Request to {} failed with status {}: {}";
     private final static String CONNECTION_FAILED_MESSAGE = "Connection issue with service {}: {}";
+    private final static String IO_ERROR_MESSAGE = "I/O error on POST request for \"%s\": %s";
+
+    private final static Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // The JDK client gives up on the exchange when the calling thread is interrupted,
+    // which is how cancelled graph executions abort in-flight node calls
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private final RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(httpClient));
+    // Configured like the one RestTemplate converts with, so unknown response fields are ignored
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
 
     @Value("${node.service.url}")
     private String nodeBaseUrl;
@@ -28,6 +59,12 @@ public class NodeClient {
     @Value("${node.service.execute}")
     private String executionEndpoint;
 
+    @Value("${node.service.execute_chain}")
+    private String chainExecutionEndpoint;
+
+    @Value("${node.service.execute_batch}")
+    private String batchExecutionEndpoint;
+
     @Value("${node.service.load_nodes}")
     private String loadNodesEndpoint;
 
@@ -42,12 +79,29 @@ public class NodeClient {
         post(loadNodesEndpoint, null, Object.class);
     }
 
-    public NodeValidationResponse validate(NodeClientData nodeClientData) {
-        return post(validationEndpoint, nodeClientData, NodeValidationResponse.class);
+    public NodeValidationResponse validate(NodeClientData nodeClientData, Duration timeout) {
+        return post(validationEndpoint, nodeClientData, NodeValidationResponse.class, timeout);
     }
 
-    public NodeExecutionResponse execute(NodeClientData nodeClientData) {
-        return post(executionEndpoint, nodeClientData, NodeExecutionResponse.class);
+    public NodeExecutionResponse execute(NodeClientData nodeClientData, Duration timeout) {
+        return post(executionEndpoint, nodeClientData, NodeExecutionResponse.class, timeout);
+    }
+
+    /**
+     * Validates and executes a fused chain in one round trip. Node failures come back in
+     * the response rather than as an error status, so the nodes before the failing one
+     * keep their results.
+     */
+    public NodeChainResponse executeChain(NodeChainRequest nodeChainRequest, Duration timeout) {
+        return post(chainExecutionEndpoint, nodeChainRequest, NodeChainResponse.class, timeout);
+    }
+
+    /**
+     * Validates and executes independent nodes in one round trip. Every node gets its own
+     * result, and a failing node only sets the error on its own.
+     */
+    public NodeBatchResponse executeBatch(NodeBatchRequest nodeBatchRequest, Duration timeout) {
+        return post(batchExecutionEndpoint, nodeBatchRequest, NodeBatchResponse.class, timeout);
     }
 
     private <T> T post(String endpoint, Object requestBody, Class<T> responseType) {
@@ -62,4 +116,48 @@ public class NodeClient {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Posts with a timeout of its own on the shared client. Failures surface as the same
+     * exceptions RestTemplate throws, so callers classify them alike: connection and
+     * timeout errors as {@link ResourceAccessException}, error statuses as
+     * {@link HttpStatusCodeException}.
+     */
+    private <T> T post(String endpoint, Object requestBody, Class<T> responseType, Duration timeout) {
+        String url = nodeBaseUrl + endpoint;
+        HttpResponse<byte[]> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(timeout)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody)))
+                    .build();
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            log.error(CONNECTION_FAILED_MESSAGE, nodeBaseUrl, e.getMessage());
+            throw new ResourceAccessException(String.format(IO_ERROR_MESSAGE, url, e.getMessage()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            IOException interrupted = new IOException("Request was interrupted: " + e.getMessage(), e);
+            throw new ResourceAccessException(String.format(IO_ERROR_MESSAGE, url, interrupted.getMessage()), interrupted);
+        }
+
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.isError()) {
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+            log.error(REQUEST_FAILED_MESSAGE, url, status, new String(response.body(), StandardCharsets.UTF_8));
+            throw status.is4xxClientError()
+                    ? HttpClientErrorException.create(status, "", headers, response.body(), StandardCharsets.UTF_8)
+                    : HttpServerErrorException.create(status, "", headers, response.body(), StandardCharsets.UTF_8);
+        }
+        if (response.body().length == 0) return null;
+
+        try {
+            return objectMapper.readValue(response.body(), responseType);
+        } catch (IOException e) {
+            throw new ResourceAccessException(String.format(IO_ERROR_MESSAGE, url, e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pixel.common.service;
+
+import com.example.pixel.common.exception.ExecutionCancelledException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks cancelled graph executions and the threads currently running their nodes.
+ * Cancelling interrupts those threads, which aborts blocking node-service calls; all
+ * updates for one execution go through {@link ConcurrentHashMap#compute}, so a thread
+ * is never interrupted after it has left.
+ */
+@Component
+public class CancellationRegistry {
+
+    private static final String CANCELLED_MESSAGE = "Graph execution %s was cancelled";
+
+    private final Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Thread>> threads = new ConcurrentHashMap<>();
+
+    public void cancel(Long graphExecutionId) {
+        cancelled.add(graphExecutionId);
+        threads.computeIfPresent(graphExecutionId, (id, running) -> {
+            running.forEach(Thread::interrupt);
+            return running;
+        });
+    }
+
+    public boolean isCancelled(Long graphExecutionId) {
+        return cancelled.contains(graphExecutionId);
+    }
+
+    /**
+     * Registers the current thread as working for the execution until the returned
+     * registration is closed.
+     *
+     * @throws ExecutionCancelledException if the execution is already cancelled
+     */
+    public Registration enter(Long graphExecutionId) {
+        Thread thread = Thread.currentThread();
+        threads.compute(graphExecutionId, (id, running) -> {
+            Set<Thread> result = running != null ? running : new HashSet<>();
+            result.add(thread);
+            return result;
+        });
+
+        Registration registration = () -> leave(graphExecutionId, thread);
+        if (isCancelled(graphExecutionId)) {
+            registration.close();
+            throw cancelledException(graphExecutionId);
+        }
+        return registration;
+    }
+
+    /**
+     * Drops the cancelled flag once nothing runs for the execution any more.
+     */
+    public void forget(Long graphExecutionId) {
+        cancelled.remove(graphExecutionId);
+    }
+
+    public ExecutionCancelledException cancelledException(Long graphExecutionId) {
+        return new ExecutionCancelledException(String.format(CANCELLED_MESSAGE, graphExecutionId));
+    }
+
+    private void leave(Long graphExecutionId, Thread thread) {
+        threads.computeIfPresent(graphExecutionId, (id, running) -> {
+            running.remove(thread);
+            return running.isEmpty() ? null : running;
+        });
+        if (isCancelled(graphExecutionId)) {
+            // Pooled threads must not carry our interrupt into their next task
+            Thread.interrupted();
+        }
+    }
+
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
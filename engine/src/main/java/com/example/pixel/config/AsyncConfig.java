@@ -1,18 +1,46 @@
 package com.example.pixel.config;
 
+import com.example.pixel.node_execution.executor.BoundedNodeTaskExecutor;
+import com.example.pixel.node_execution.executor.BoundedNodeTaskExecutor.RejectionPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @RequiredArgsConstructor
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${execution.node.executor.pool-size}")
+    private int nodePoolSize;
+
+    @Value("${execution.node.executor.queue-capacity}")
+    private int nodeQueueCapacity;
+
+    @Value("${execution.node.executor.rejection-policy}")
+    private String nodeRejectionPolicy;
+
+    @Value("${execution.node.retry.initial-backoff-ms}")
+    private long nodeInitialBackoffMs;
+
+    @Value("${execution.node.retry.max-backoff-ms}")
+    private long nodeMaxBackoffMs;
+
     @Bean(name = "graphTaskExecutor")
+    @ConditionalOnProperty(name = "execution.threads", havingValue = "platform")
     public Executor graphTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(200);
@@ -22,4 +50,78 @@ public class AsyncConfig {
         executor.initialize();
         return executor.getThreadPoolExecutor();
     }
-}
\ No newline at end of file
+
+    /**
+     * Fixed pool sized for blocking node-service calls rather than for CPU cores, with a
+     * bounded queue in front of it. Submissions beyond pool size plus queue capacity
+     * block or back off depending on {@code execution.node.executor.rejection-policy}.
+     */
+    @Bean(name = "nodeTaskExecutor")
+    @ConditionalOnProperty(name = "execution.threads", havingValue = "platform")
+    public Executor nodeTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(nodePoolSize);
+        executor.setMaxPoolSize(nodePoolSize);
+        // A worker releases its slot just before it takes the next task, so the queue
+        // briefly holds up to one task per thread beyond the bounded capacity
+        executor.setQueueCapacity(nodeQueueCapacity + nodePoolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("NodeExec-");
+        executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "nodeTaskExecutor");
+        return bounded(pool);
+    }
+
+    /**
+     * One virtual thread per graph execution: a graph thread spends its life parked on
+     * node futures, so it should not hold an OS thread while it waits.
+     */
+    @Bean(name = "graphTaskExecutor")
+    @ConditionalOnProperty(name = "execution.threads", havingValue = "virtual")
+    public Executor virtualGraphTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("GraphExec-", 0).factory());
+    }
+
+    /**
+     * One virtual thread per node invocation, so blocking node-service calls and JPA
+     * writes do not occupy carrier threads while they wait on I/O. Threads are cheap but
+     * the node service is not, so the same in-flight limit as the platform pool applies.
+     */
+    @Bean(name = "nodeTaskExecutor")
+    @ConditionalOnProperty(name = "execution.threads", havingValue = "virtual")
+    public Executor virtualNodeTaskExecutor() {
+        return bounded(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("NodeExec-", 0).factory()));
+    }
+
+    /**
+     * Shards of a fanned-out node. The node task waiting for them already holds a node
+     * task slot, so shards get their own virtual threads instead of queueing behind it.
+     */
+    @Bean(name = "shardTaskExecutor")
+    public Executor shardTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ShardExec-", 0).factory());
+    }
+
+    /**
+     * Downstream stages of a streaming pipeline. The node task running the head stage
+     * waits for them to take its batches, so they cannot queue behind it for a node task
+     * slot. Their node-service calls are bounded by the pipeline's hand-off queues.
+     */
+    @Bean(name = "stageTaskExecutor")
+    public Executor stageTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("StageExec-", 0).factory());
+    }
+
+    private Executor bounded(Executor delegate) {
+        return new BoundedNodeTaskExecutor(
+                delegate,
+                nodePoolSize + nodeQueueCapacity,
+                RejectionPolicy.fromProperty(nodeRejectionPolicy),
+                Duration.ofMillis(nodeInitialBackoffMs),
+                Duration.ofMillis(nodeMaxBackoffMs),
+                meterRegistry
+        );
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.pixel.config;
 
 import com.example.pixel.common.service.NotificationService;
-import com.example.pixel.graph_execution.executor.AsyncGraphExecutor;
-import com.example.pixel.graph_execution.executor.GraphExecutor;
-import com.example.pixel.graph_execution.executor.LevelGraphExecutor;
-import com.example.pixel.graph_execution.executor.SyncGraphExecutor;
+import com.example.pixel.graph.service.ExecutionPlanCache;
+import com.example.pixel.graph_execution.executor.*;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
 import com.example.pixel.graph_execution.service.GraphExecutionService;
+import com.example.pixel.node_execution.executor.BatchNodeExecutor;
+import com.example.pixel.node_execution.executor.FusedChainExecutor;
 import com.example.pixel.node_execution.executor.NodeExecutor;
+import com.example.pixel.node_execution.executor.StreamingPipelineExecutor;
+import com.example.pixel.node_execution.service.NodeDurationEstimator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,9 +28,11 @@ public class GraphExecutionConfig {
     public GraphExecutor syncGraphExecutor(
             NodeExecutor nodeExecutor,
             GraphExecutionService graphExecutionService,
-            NotificationService notificationService
+            ExecutionPlanCache executionPlanCache,
+            NotificationService notificationService,
+            ExecutionProgressTracker progressTracker
     ) {
-        return new SyncGraphExecutor(nodeExecutor, graphExecutionService, notificationService);
+        return new SyncGraphExecutor(nodeExecutor, graphExecutionService, executionPlanCache, notificationService, progressTracker);
     }
 
     @Bean
@@ -32,10 +40,12 @@ public class GraphExecutionConfig {
     public GraphExecutor asyncGraphExecutor(
             NodeExecutor nodeExecutor,
             GraphExecutionService graphExecutionService,
+            ExecutionPlanCache executionPlanCache,
             NotificationService notificationService,
-            Executor graphTaskExecutor
+            ExecutionProgressTracker progressTracker,
+            @Qualifier("graphTaskExecutor") Executor graphTaskExecutor
     ) {
-        return new AsyncGraphExecutor(nodeExecutor, graphExecutionService, notificationService, graphTaskExecutor);
+        return new AsyncGraphExecutor(nodeExecutor, graphExecutionService, executionPlanCache, notificationService, progressTracker, graphTaskExecutor);
     }
 
     @Primary
@@ -44,10 +54,61 @@ public class GraphExecutionConfig {
     public GraphExecutor levelGraphExecutor(
             NodeExecutor nodeExecutor,
             GraphExecutionService graphExecutionService,
+            ExecutionPlanCache executionPlanCache,
             NotificationService notificationService,
-            Executor graphTaskExecutor
+            ExecutionProgressTracker progressTracker,
+            @Qualifier("graphTaskExecutor") Executor graphTaskExecutor,
+            ObjectProvider<BatchNodeExecutor> batchNodeExecutor
     ) {
-        return new LevelGraphExecutor(nodeExecutor, graphExecutionService, notificationService, graphTaskExecutor);
+        return new LevelGraphExecutor(
+                nodeExecutor,
+                graphExecutionService,
+                executionPlanCache,
+                notificationService,
+                progressTracker,
+                graphTaskExecutor,
+                batchNodeExecutor.getIfAvailable()
+        );
     }
-}
 
+    @Bean
+    @ConditionalOnProperty(name = "execution.graph.mode", havingValue = "dataflow")
+    public GraphExecutor dataflowGraphExecutor(
+            NodeExecutor nodeExecutor,
+            GraphExecutionService graphExecutionService,
+            ExecutionPlanCache executionPlanCache,
+            NotificationService notificationService,
+            ExecutionProgressTracker progressTracker,
+            @Qualifier("graphTaskExecutor") Executor graphTaskExecutor,
+            NodePriority nodePriority,
+            @Value("${execution.graph.max-parallel-nodes}") int maxParallelNodes,
+            ObjectProvider<StreamingPipelineExecutor> streamingPipelineExecutor,
+            ObjectProvider<FusedChainExecutor> fusedChainExecutor
+    ) {
+        return new DataflowGraphExecutor(
+                nodeExecutor,
+                graphExecutionService,
+                executionPlanCache,
+                notificationService,
+                progressTracker,
+                graphTaskExecutor,
+                // Without a limit every ready node is dispatched at once, so their order is moot
+                maxParallelNodes > 0 ? nodePriority : new TopologicalNodePriority(),
+                maxParallelNodes,
+                streamingPipelineExecutor.getIfAvailable(),
+                fusedChainExecutor.getIfAvailable()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.graph.prioritization", havingValue = "topological")
+    public NodePriority topologicalNodePriority() {
+        return new TopologicalNodePriority();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.graph.prioritization", havingValue = "critical-path")
+    public NodePriority criticalPathNodePriority(NodeDurationEstimator nodeDurationEstimator) {
+        return new CriticalPathNodePriority(nodeDurationEstimator);
+    }
+}
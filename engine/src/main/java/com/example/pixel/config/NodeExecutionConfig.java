@@ -1,28 +1,87 @@
 package com.example.pixel.config;
 
+import com.example.pixel.common.service.CancellationRegistry;
 import com.example.pixel.node_execution.executor.AsyncNodeExecutor;
+import com.example.pixel.node_execution.executor.BatchNodeExecutor;
+import com.example.pixel.node_execution.executor.FusedChainExecutor;
 import com.example.pixel.node_execution.executor.NodeExecutor;
+import com.example.pixel.node_execution.executor.StreamingPipelineExecutor;
 import com.example.pixel.node_execution.executor.SyncNodeExecutor;
+import com.example.pixel.node_execution.service.NodeExecutionPolicyResolver;
 import com.example.pixel.node_execution.service.NodeExecutionService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.util.concurrent.Executor;
+
 
 @Configuration
 public class NodeExecutionConfig {
 
     @Bean
     @ConditionalOnProperty(name = "execution.node.mode", havingValue = "sync")
-    public NodeExecutor syncNodeExecutor(NodeExecutionService nodeExecutionService) {
-        return new SyncNodeExecutor(nodeExecutionService);
+    public NodeExecutor syncNodeExecutor(
+            NodeExecutionService nodeExecutionService,
+            CancellationRegistry cancellationRegistry
+    ) {
+        return new SyncNodeExecutor(nodeExecutionService, cancellationRegistry);
     }
 
     @Primary
     @Bean
     @ConditionalOnProperty(name = "execution.node.mode", havingValue = "async")
-    public NodeExecutor asyncNodeExecutor(NodeExecutionService nodeExecutionService) {
-        return new AsyncNodeExecutor(nodeExecutionService);
+    public NodeExecutor asyncNodeExecutor(
+            NodeExecutionService nodeExecutionService,
+            CancellationRegistry cancellationRegistry,
+            @Qualifier("nodeTaskExecutor") Executor nodeTaskExecutor
+    ) {
+        return new AsyncNodeExecutor(nodeExecutionService, cancellationRegistry, nodeTaskExecutor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.streaming.enabled", havingValue = "true")
+    public StreamingPipelineExecutor streamingPipelineExecutor(
+            NodeExecutionService nodeExecutionService,
+            NodeExecutionPolicyResolver nodeExecutionPolicyResolver,
+            CancellationRegistry cancellationRegistry,
+            @Qualifier("nodeTaskExecutor") Executor nodeTaskExecutor,
+            @Qualifier("stageTaskExecutor") Executor stageTaskExecutor,
+            @Value("${execution.streaming.batch-size}") int batchSize,
+            @Value("${execution.streaming.max-in-flight-batches}") int maxInFlightBatches
+    ) {
+        return new StreamingPipelineExecutor(
+                nodeExecutionService,
+                nodeExecutionPolicyResolver,
+                cancellationRegistry,
+                nodeTaskExecutor,
+                stageTaskExecutor,
+                batchSize,
+                maxInFlightBatches
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.fusion.enabled", havingValue = "true")
+    public FusedChainExecutor fusedChainExecutor(
+            NodeExecutionService nodeExecutionService,
+            CancellationRegistry cancellationRegistry,
+            @Qualifier("nodeTaskExecutor") Executor nodeTaskExecutor
+    ) {
+        return new FusedChainExecutor(nodeExecutionService, cancellationRegistry, nodeTaskExecutor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.batching.enabled", havingValue = "true")
+    public BatchNodeExecutor batchNodeExecutor(
+            NodeExecutionService nodeExecutionService,
+            CancellationRegistry cancellationRegistry,
+            @Qualifier("nodeTaskExecutor") Executor nodeTaskExecutor,
+            @Value("${execution.batching.max-nodes-per-request}") int maxNodesPerRequest
+    ) {
+        return new BatchNodeExecutor(nodeExecutionService, cancellationRegistry, nodeTaskExecutor, maxNodesPerRequest);
     }
 }
@@ -12,4 +12,5 @@ public class CreateGraphRequest {
     private final String id;
     private final String schedule;
     private final List<Node> nodes;
+    private final FailurePolicy failurePolicy;
 }
@@ -0,0 +1,5 @@
+package com.example.pixel.graph.dto;
+
+public enum FailurePolicy {
+    FAIL_FAST, CONTINUE_INDEPENDENT
+}
@@ -1,6 +1,7 @@
 package com.example.pixel.graph.dto;
 
 import com.example.pixel.node_execution.model.Node;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -12,4 +13,8 @@ public class GraphDto {
     private final String id;
     private final String schedule;
     private final List<Node> nodes;
+    private final FailurePolicy failurePolicy;
+    // Entity version, which keys the compiled execution plan
+    @JsonIgnore
+    private final Long version;
 }
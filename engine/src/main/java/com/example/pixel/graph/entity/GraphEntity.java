@@ -1,5 +1,6 @@
 package com.example.pixel.graph.entity;
 
+import com.example.pixel.graph.dto.FailurePolicy;
 import com.example.pixel.graph_execution.entity.GraphExecutionEntity;
 import com.example.pixel.node_execution.model.Node;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -35,6 +36,9 @@ public class GraphEntity {
     @JdbcTypeCode(SqlTypes.JSON)
     private List<Node> nodes;
 
+    @Enumerated(EnumType.STRING)
+    private FailurePolicy failurePolicy;
+
     @OneToMany(mappedBy = "graphId", fetch = FetchType.LAZY)
     private List<GraphExecutionEntity> graphExecutionEntity;
 
@@ -7,18 +7,39 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 
+/**
+ * Compiled form of a graph: references parsed, dependents linked and nodes sorted into
+ * levels. Immutable once built, so {@link com.example.pixel.graph.service.ExecutionPlanCache}
+ * shares one instance between all executions of a graph version; executors never modify
+ * its nodes and record resolved inputs on copies instead.
+ */
 @Slf4j
 public class Graph {
     private final List<Node> topologicalOrder;
     private final List<List<Node>> levels;
+    private final Map<Long, List<Node>> dependents;
+    private final Map<Long, Integer> dependencyCounts;
 
     public Graph(GraphDto graphDto) {
-        List<Node> nodes = GraphBuilder.setupReferences(graphDto.getNodes());
-        Map<Long, Node> nodeMap = GraphBuilder.getNodeMap(nodes);
-        Map<Node, List<Node>> nodeOutputs = GraphBuilder.mapOutputNodes(nodes);
+        this(graphDto.getNodes());
+    }
+
+    /**
+     * Compiles the given nodes, rejecting duplicate ids, dangling references and cycles.
+     */
+    public Graph(List<Node> nodes) {
+        GraphBuilder.CompiledGraph compiled = GraphBuilder.compile(nodes);
+        this.levels = compiled.levels();
+        this.topologicalOrder = List.copyOf(GraphBuilder.getTopologicalOrderFromLevels(levels));
+        this.dependents = compiled.dependents();
 
-        this.levels = GraphBuilder.buildTopologicalOrder(nodes, nodeOutputs, nodeMap);
-        this.topologicalOrder = GraphBuilder.getTopologicalOrderFromLevels(levels);
+        this.dependencyCounts = new HashMap<>();
+        for (Node node : topologicalOrder) {
+            dependencyCounts.putIfAbsent(node.getId(), 0);
+            for (Node dependent : dependents.get(node.getId())) {
+                dependencyCounts.merge(dependent.getId(), 1, Integer::sum);
+            }
+        }
     }
 
     public Iterator<List<Node>> levelIterator() {
@@ -27,4 +48,23 @@ public class Graph {
     public Iterator<Node> nodeIterator() {
         return new NodeIterator(topologicalOrder);
     }
-}
\ No newline at end of file
+
+    public List<Node> getNodes() {
+        return topologicalOrder;
+    }
+
+    /**
+     * Nodes consuming at least one output of the given node. A dependent referencing
+     * the same producer several times is listed once per reference.
+     */
+    public List<Node> getDependents(Long nodeId) {
+        return dependents.getOrDefault(nodeId, List.of());
+    }
+
+    /**
+     * Number of node references the given node waits on before it can run.
+     */
+    public int getDependencyCount(Long nodeId) {
+        return dependencyCounts.getOrDefault(nodeId, 0);
+    }
+}
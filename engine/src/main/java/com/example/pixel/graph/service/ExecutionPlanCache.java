@@ -0,0 +1,69 @@
+package com.example.pixel.graph.service;
+
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Compiled {@link Graph}s keyed by graph id and entity version, so scheduled graphs are
+ * parsed, linked and sorted once instead of on every execution. A compiled graph is
+ * immutable and shared by all executions of that version.
+ * <p>
+ * A hit is only used if its nodes equal those of the requested graph, which guards
+ * against a graph deleted and re-created under the same id on another engine instance.
+ * Graphs without a version, i.e. not loaded from the database, are always compiled.
+ */
+@Slf4j
+@Service
+public class ExecutionPlanCache {
+
+    private final Cache<PlanKey, Plan> plans;
+
+    public ExecutionPlanCache(@Value("${execution.plan-cache.max-size}") long maxSize) {
+        this.plans = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Graph get(GraphDto graphDto) {
+        if (graphDto.getId() == null || graphDto.getVersion() == null) {
+            return new Graph(graphDto);
+        }
+
+        PlanKey key = new PlanKey(graphDto.getId(), graphDto.getVersion());
+        Plan cached = plans.getIfPresent(key);
+        if (cached != null && cached.nodes().equals(graphDto.getNodes())) {
+            return cached.graph();
+        }
+
+        Graph graph = new Graph(graphDto);
+        plans.put(key, new Plan(List.copyOf(graphDto.getNodes()), graph));
+        log.debug("Compiled execution plan for graph {} version {}", graphDto.getId(), graphDto.getVersion());
+        return graph;
+    }
+
+    /**
+     * Stores a graph already compiled elsewhere, e.g. during validation, for the given
+     * version.
+     */
+    public void put(GraphDto graphDto, Graph graph) {
+        if (graphDto.getId() == null || graphDto.getVersion() == null) return;
+
+        plans.put(new PlanKey(graphDto.getId(), graphDto.getVersion()), new Plan(List.copyOf(graphDto.getNodes()), graph));
+    }
+
+    public void evict(String graphId) {
+        plans.asMap().keySet().removeIf(key -> key.graphId().equals(graphId));
+    }
+
+    private record PlanKey(String graphId, Long version) {}
+
+    private record Plan(List<Node> nodes, Graph graph) {}
+}
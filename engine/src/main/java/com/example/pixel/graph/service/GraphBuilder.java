@@ -1,5 +1,7 @@
 package com.example.pixel.graph.service;
 
+import com.example.pixel.common.exception.InvalidGraphException;
+import com.example.pixel.common.exception.InvalidNodeInputException;
 import com.example.pixel.node_execution.model.Node;
 import com.example.pixel.node_execution.model.NodeReference;
 
@@ -7,100 +9,162 @@ import java.util.*;
 
 public class GraphBuilder {
 
-    public static Map<Long, Node> getNodeMap(List<Node> nodes) {
-        Map<Long, Node> nodeMap = new HashMap<>();
-        for (Node node : nodes) {
-            nodeMap.put(node.getId(), node);
+    private static final String DUPLICATE_IDS_MESSAGE = "Graph contains nodes with duplicate IDs: ";
+    private static final String MISSING_NODE_MESSAGE = "Invalid node reference: Node with id %s is not found. Please ensure the node id is correct.";
+    private static final String CYCLE_MESSAGE = "Graph contains a cycle: ";
+
+    /**
+     * Dependents of every node by id, and the nodes sorted into levels of a topological
+     * order.
+     */
+    public record CompiledGraph(Map<Long, List<Node>> dependents, List<List<Node>> levels) {}
+
+    /**
+     * Parses, checks and sorts a graph in one iterative pass, so neither long chains nor
+     * wide fan-outs are limited by the stack. Rejects duplicate node ids, references to
+     * nodes that do not exist and cycles, reporting the nodes on the cycle in order.
+     */
+    public static CompiledGraph compile(List<Node> rawNodes) {
+        int size = rawNodes.size();
+        List<Node> nodes = setupReferences(rawNodes);
+
+        Map<Long, Integer> indexById = new HashMap<>(size * 2);
+        Set<Long> duplicateIds = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            if (indexById.putIfAbsent(nodes.get(i).getId(), i) != null) {
+                duplicateIds.add(nodes.get(i).getId());
+            }
+        }
+        if (!duplicateIds.isEmpty()) {
+            throw new InvalidGraphException(DUPLICATE_IDS_MESSAGE + new ArrayList<>(duplicateIds));
         }
-        return nodeMap;
-    }
 
-    public static List<Node> setupReferences(List<Node> nodes) {
-        List<Node> result = new ArrayList<>();
-        for (Node node : nodes) {
-            Map<String, Object> inputsCopy = new HashMap<>();
-            for (Map.Entry<String, Object> input : node.getInputs().entrySet()) {
-                Object value = input.getValue();
-                if (value instanceof String && ((String) value).startsWith("@node:")) {
-                    inputsCopy.put(input.getKey(), new NodeReference((String) value));
-                } else {
-                    inputsCopy.put(input.getKey(), value);
+        // Producer of every reference, consumer by consumer, in input order
+        int[] producers = new int[size];
+        int[] consumerOffsets = new int[size + 1];
+        int edges = 0;
+        for (int i = 0; i < size; i++) {
+            for (Object input : nodes.get(i).getInputs().values()) {
+                if (!(input instanceof NodeReference reference)) continue;
+
+                Integer producer = indexById.get(reference.getNodeId());
+                if (producer == null) {
+                    throw new InvalidNodeInputException(String.format(MISSING_NODE_MESSAGE, reference.getNodeId()));
+                }
+                if (edges == producers.length) {
+                    producers = Arrays.copyOf(producers, producers.length * 2);
                 }
+                producers[edges++] = producer;
             }
-            result.add(new Node(node.getId(), node.getType(), inputsCopy));
+            consumerOffsets[i + 1] = edges;
         }
-        return result;
-    }
 
-    public static Map<Node, List<Node>> mapOutputNodes(List<Node> nodes) {
-        Map<Node, List<Node>> nodeOutputs = new HashMap<>();
-
-        for (Node node : nodes) {
-            List<Node> dependentNodes = new ArrayList<>();
-            for (Node potentialDependent: nodes) {
-                for (Object param: potentialDependent.getInputs().values()) {
-                    if (param instanceof NodeReference) {
-                        if (((NodeReference) param).getNodeId().equals(node.getId())) {
-                            dependentNodes.add(potentialDependent);
-                        }
-                    }
-                }
+        // The same edges grouped by producer: dependents of i are targets[offsets[i]..offsets[i + 1])
+        int[] offsets = new int[size + 1];
+        for (int edge = 0; edge < edges; edge++) {
+            offsets[producers[edge] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[edges];
+        int[] fill = Arrays.copyOf(offsets, size);
+        int[] inDegree = new int[size];
+        for (int consumer = 0; consumer < size; consumer++) {
+            for (int edge = consumerOffsets[consumer]; edge < consumerOffsets[consumer + 1]; edge++) {
+                targets[fill[producers[edge]]++] = consumer;
+                inDegree[consumer]++;
             }
-            nodeOutputs.put(node, dependentNodes);
         }
 
-        return nodeOutputs;
-    }
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            if (inDegree[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
 
-    public static List<List<Node>> buildTopologicalOrder(
-            List<Node> nodes,
-            Map<Node, List<Node>> nodeOutputs,
-            Map<Long, Node> nodeMap
-    ) {
         List<List<Node>> levels = new ArrayList<>();
-        Map<Long, Integer> inDegreeMap = new HashMap<>();
-        Queue<Node> zeroInDegreeNodes = new LinkedList<>();
-
-        // Initialize inDegreeMap
-        for (Node node : nodes) {
-            inDegreeMap.put(node.getId(), 0);
+        while (head < tail) {
+            int levelEnd = tail;
+            List<Node> level = new ArrayList<>(levelEnd - head);
+            while (head < levelEnd) {
+                int current = queue[head++];
+                level.add(nodes.get(current));
+                for (int edge = offsets[current]; edge < offsets[current + 1]; edge++) {
+                    if (--inDegree[targets[edge]] == 0) {
+                        queue[tail++] = targets[edge];
+                    }
+                }
+            }
+            levels.add(List.copyOf(level));
         }
 
-        // Calculate in-degrees
-        for (Node node : nodes) {
-            for (Node dependent : nodeOutputs.getOrDefault(node, List.of())) {
-                inDegreeMap.put(dependent.getId(), inDegreeMap.get(dependent.getId()) + 1);
-            }
+        if (tail < size) {
+            throw new InvalidGraphException(CYCLE_MESSAGE + findCycle(nodes, producers, consumerOffsets, inDegree));
         }
 
-        // Add nodes with zero in-degree to the queue
-        for (Map.Entry<Long, Integer> entry : inDegreeMap.entrySet()) {
-            if (entry.getValue() == 0) {
-                zeroInDegreeNodes.add(nodeMap.get(entry.getKey()));
+        Map<Long, List<Node>> dependents = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            List<Node> outputs = new ArrayList<>(offsets[i + 1] - offsets[i]);
+            for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+                outputs.add(nodes.get(targets[edge]));
             }
+            dependents.put(nodes.get(i).getId(), List.copyOf(outputs));
         }
 
-        while (!zeroInDegreeNodes.isEmpty()) {
-            int size = zeroInDegreeNodes.size();
-            List<Node> sameLevelNodes = new ArrayList<>();
-
-            for (int i = 0; i < size; i++) {
-                Node current = zeroInDegreeNodes.poll();
-                sameLevelNodes.add(current);
+        return new CompiledGraph(dependents, List.copyOf(levels));
+    }
 
-                for (Node dependent : nodeOutputs.getOrDefault(current, List.of())) {
-                    int inDegree = inDegreeMap.get(dependent.getId()) - 1;
-                    inDegreeMap.put(dependent.getId(), inDegree);
-                    if (inDegree == 0) {
-                        zeroInDegreeNodes.add(nodeMap.get(dependent.getId()));
-                    }
+    /**
+     * Nodes left with a positive in-degree after the sort all wait on another such node,
+     * so walking from any of them to an unsorted producer must come back to a node
+     * already seen. The walk runs against the edges; the path is reversed to read from
+     * producer to consumer.
+     */
+    private static List<Long> findCycle(List<Node> nodes, int[] producers, int[] consumerOffsets, int[] inDegree) {
+        int[] position = new int[nodes.size()];
+        Arrays.fill(position, -1);
+        List<Integer> walk = new ArrayList<>();
+
+        int current = 0;
+        while (inDegree[current] == 0) current++;
+        while (position[current] < 0) {
+            position[current] = walk.size();
+            walk.add(current);
+            for (int edge = consumerOffsets[current]; edge < consumerOffsets[current + 1]; edge++) {
+                if (inDegree[producers[edge]] > 0) {
+                    current = producers[edge];
+                    break;
                 }
             }
+        }
 
-            levels.add(sameLevelNodes);
+        List<Long> cycle = new ArrayList<>();
+        cycle.add(nodes.get(current).getId());
+        for (int i = walk.size() - 1; i >= position[current]; i--) {
+            cycle.add(nodes.get(walk.get(i)).getId());
         }
+        return cycle;
+    }
 
-        return levels;
+    public static List<Node> setupReferences(List<Node> nodes) {
+        List<Node> result = new ArrayList<>();
+        for (Node node : nodes) {
+            Map<String, Object> inputsCopy = new HashMap<>();
+            for (Map.Entry<String, Object> input : node.getInputs().entrySet()) {
+                Object value = input.getValue();
+                if (value instanceof String && ((String) value).startsWith("@node:")) {
+                    inputsCopy.put(input.getKey(), new NodeReference((String) value));
+                } else {
+                    inputsCopy.put(input.getKey(), value);
+                }
+            }
+            result.add(new Node(node.getId(), node.getType(), Collections.unmodifiableMap(inputsCopy)));
+        }
+        return result;
     }
 
     public static List<Node> getTopologicalOrderFromLevels(List<List<Node>> levels) {
@@ -2,12 +2,14 @@ package com.example.pixel.graph.service;
 
 import com.example.pixel.common.exception.GraphNotFoundException;
 import com.example.pixel.graph.dto.CreateGraphRequest;
+import com.example.pixel.graph.dto.FailurePolicy;
 import com.example.pixel.graph.dto.GraphDto;
 import com.example.pixel.graph.entity.GraphEntity;
 import com.example.pixel.graph.mapper.GraphMapper;
+import com.example.pixel.graph.model.Graph;
 import com.example.pixel.graph.repository.GraphRepository;
 import com.example.pixel.graph_execution.dto.GraphExecutionDto;
-import com.example.pixel.graph_execution.executor.GraphExecutor;
+import com.example.pixel.graph_execution.service.GraphExecutionDispatcher;
 import com.example.pixel.graph_execution.service.GraphExecutionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,10 +27,11 @@ public class GraphService {
     private static final String GRAPH_NOT_FOUND_MESSAGE = "Graph not found: ";
 
     private final GraphMapper graphMapper;
-    private final GraphExecutor graphExecutor;
+    private final GraphExecutionDispatcher graphExecutionDispatcher;
     private final GraphExecutionService graphExecutionService;
     private final GraphRepository graphRepository;
     private final GraphValidator graphValidator;
+    private final ExecutionPlanCache executionPlanCache;
 
     @Transactional
     public GraphDto create(CreateGraphRequest createGraphRequest) {
@@ -37,16 +40,22 @@ public class GraphService {
             return findById(createGraphRequest.getId());
         }
 
-        graphValidator.validateGraphIntegrity(createGraphRequest);
+        Graph graph = graphValidator.validateGraphIntegrity(createGraphRequest);
 
         GraphEntity graphModel = GraphEntity.builder()
                 .graphId(createGraphRequest.getId())
                 .createdAt(LocalDateTime.now())
                 .nodes(createGraphRequest.getNodes())
                 .schedule(createGraphRequest.getSchedule())
+                .failurePolicy(createGraphRequest.getFailurePolicy() != null
+                        ? createGraphRequest.getFailurePolicy()
+                        : FailurePolicy.FAIL_FAST)
                 .build();
 
-        return graphMapper.toDto(graphRepository.save(graphModel));
+        GraphDto graphDto = graphMapper.toDto(graphRepository.save(graphModel));
+        // Validation already compiled the graph, so the first execution does not pay for it
+        executionPlanCache.put(graphDto, graph);
+        return graphDto;
     }
 
     @Transactional(readOnly = true)
@@ -68,12 +77,13 @@ public class GraphService {
     @Transactional
     public void deleteById(String id) {
         graphRepository.deleteByGraphId(id);
+        executionPlanCache.evict(id);
     }
 
     public GraphExecutionDto execute(GraphDto graphDto) {
         GraphExecutionDto graphExecutionDto = graphExecutionService.create(graphDto);
 
-        graphExecutor.launchExecution(graphDto, graphExecutionDto);
+        graphExecutionDispatcher.submit(graphDto, graphExecutionDto);
 
         return graphExecutionDto;
     }
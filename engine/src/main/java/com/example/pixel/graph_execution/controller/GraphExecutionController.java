@@ -1,6 +1,9 @@
 package com.example.pixel.graph_execution.controller;
 
 import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.service.GraphExecutionDispatcher;
+import com.example.pixel.graph_execution.service.GraphExecutionRecoveryService;
 import com.example.pixel.graph_execution.service.GraphExecutionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +17,8 @@ import java.util.List;
 public class GraphExecutionController {
 
     private final GraphExecutionService graphExecutionService;
+    private final GraphExecutionRecoveryService graphExecutionRecoveryService;
+    private final GraphExecutionDispatcher graphExecutionDispatcher;
 
     @GetMapping("/{id}")
     public ResponseEntity<GraphExecutionDto> get(@PathVariable Long id) {
@@ -21,10 +26,26 @@ public class GraphExecutionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<GraphExecutionDto>> getAll(@RequestParam(required = false) String graphId) {
+    public ResponseEntity<List<GraphExecutionDto>> getAll(
+            @RequestParam(required = false) String graphId,
+            @RequestParam(required = false) GraphExecutionStatus status
+    ) {
         if (graphId != null) {
             return ResponseEntity.ok(graphExecutionService.findByGraphId(graphId));
         }
+        if (status != null) {
+            return ResponseEntity.ok(graphExecutionService.findByStatus(status));
+        }
         return ResponseEntity.ok(graphExecutionService.findAll());
     }
+
+    @DeleteMapping("/{id}/run")
+    public ResponseEntity<GraphExecutionDto> cancel(@PathVariable Long id) {
+        return ResponseEntity.ok(graphExecutionDispatcher.cancel(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<GraphExecutionDto> resume(@PathVariable Long id) {
+        return ResponseEntity.ok(graphExecutionRecoveryService.resume(id));
+    }
 }
@@ -1,5 +1,5 @@
 package com.example.pixel.graph_execution.dto;
 
 public enum GraphExecutionStatus {
-    PENDING, RUNNING, COMPLETED, FAILED
+    PENDING, RUNNING, COMPLETED, PARTIAL, FAILED, CANCELLED
 }
@@ -4,8 +4,11 @@ import com.example.pixel.common.exception.GraphExecutionException;
 import com.example.pixel.common.service.NotificationService;
 import com.example.pixel.graph.dto.GraphDto;
 import com.example.pixel.graph.model.Graph;
+import com.example.pixel.graph.service.ExecutionPlanCache;
 import com.example.pixel.graph_execution.dto.GraphExecutionDto;
 import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.service.ExecutionProgress;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
 import com.example.pixel.graph_execution.service.GraphExecutionService;
 import com.example.pixel.node_execution.executor.NodeExecutor;
 import com.example.pixel.node_execution.model.Node;
@@ -22,7 +25,9 @@ public class AsyncGraphExecutor implements GraphExecutor {
 
     private final NodeExecutor nodeExecutor;
     private final GraphExecutionService graphExecutionService;
+    private final ExecutionPlanCache executionPlanCache;
     private final NotificationService notificationService;
+    private final ExecutionProgressTracker progressTracker;
     private final Executor graphTaskExecutor;
 
     public CompletableFuture<GraphExecutionDto> launchExecution(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
@@ -32,29 +37,40 @@ public class AsyncGraphExecutor implements GraphExecutor {
 
     private GraphExecutionDto execute(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
         Long graphExecutionId = graphExecutionDto.getId();
+        ExecutionProgress progress = progressTracker.start(graphExecutionDto);
         try {
-            Graph graph = new Graph(graphDto);
+            Graph graph = executionPlanCache.get(graphDto);
             graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.RUNNING);
 
             Iterator<Node> iterator = graph.nodeIterator();
-            int processedNodes = 0;
+            FailureTracker failures = new FailureTracker(graph, graphDto.getFailurePolicy());
 
             while (iterator.hasNext()) {
                 Node node = iterator.next();
-                nodeExecutor.launchExecution(node, graphExecutionId).join();
+                if (failures.isSkipped(node)) continue;
 
-                processedNodes += 1;
+                try {
+                    nodeExecutor.launchExecution(node, graphExecutionId).join();
+                } catch (RuntimeException e) {
+                    if (!failures.recordFailure(node, e)) throw e;
+                    continue;
+                }
 
-                graphExecutionService.updateProgress(graphExecutionId, processedNodes);
-                notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
+                progress.advance(1);
             }
 
-            graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.COMPLETED);
+            progress.flush();
+            if (failures.hasFailures()) {
+                graphExecutionService.markPartial(graphExecutionId, failures.summary());
+            } else {
+                graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.COMPLETED);
+            }
             notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
 
             return graphExecutionService.findById(graphExecutionId);
         } catch (Exception e) {
             log.error("Error executing graph {}: {}", graphDto.getId(), e.getMessage(), e);
+            progress.flush();
             graphExecutionService.markFailed(graphExecutionId, e.getMessage());
             notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
 
@@ -0,0 +1,47 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.service.NodeDurationEstimator;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Dispatches the node with the longest remaining path to the end of the graph first.
+ * The path length (upward rank) is the node's own estimated duration plus the largest
+ * rank among its dependents, with durations taken from past executions of each node type.
+ * Ties fall back to topological order. Only used when
+ * {@code execution.graph.max-parallel-nodes} is positive; without a limit every ready
+ * node is dispatched at once.
+ */
+@RequiredArgsConstructor
+public class CriticalPathNodePriority implements NodePriority {
+
+    private final NodeDurationEstimator nodeDurationEstimator;
+
+    @Override
+    public Comparator<Node> comparator(Graph graph) {
+        Map<Long, Double> ranks = computeUpwardRanks(graph, nodeDurationEstimator.snapshot());
+        Comparator<Node> byRank = Comparator.comparingDouble(node -> -ranks.get(node.getId()));
+        return byRank.thenComparing(new TopologicalNodePriority().comparator(graph));
+    }
+
+    public static Map<Long, Double> computeUpwardRanks(Graph graph, ToDoubleFunction<String> durations) {
+        List<Node> nodes = graph.getNodes();
+        Map<Long, Double> ranks = new HashMap<>();
+
+        // Reverse topological order guarantees every dependent is ranked before its producers
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            Node node = nodes.get(i);
+            double longestTail = 0;
+            for (Node dependent : graph.getDependents(node.getId())) {
+                longestTail = Math.max(longestTail, ranks.get(dependent.getId()));
+            }
+            ranks.put(node.getId(), durations.applyAsDouble(node.getType()) + longestTail);
+        }
+
+        return ranks;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.common.exception.GraphExecutionException;
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.graph.service.ExecutionPlanCache;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.service.ExecutionProgress;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
+import com.example.pixel.graph_execution.service.GraphExecutionService;
+import com.example.pixel.node_execution.executor.FusedChainExecutor;
+import com.example.pixel.node_execution.executor.NodeExecutor;
+import com.example.pixel.node_execution.executor.StreamingPipelineExecutor;
+import com.example.pixel.node_execution.model.Node;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Starts every node as soon as the last node it references has finished, instead of
+ * waiting for a whole level to complete. Bookkeeping happens on the graph thread only:
+ * node completions are handed back through a queue, so in-degree counters need no
+ * synchronization and a synchronous {@link NodeExecutor} cannot recurse into itself.
+ * <p>
+ * Under {@code CONTINUE_INDEPENDENT} a failed node's dependents simply never become
+ * ready, while the other branches keep draining.
+ * <p>
+ * Before dispatching, the graph is compiled into {@link ExecutionUnits}. With a
+ * {@link StreamingPipelineExecutor}, chains of split nodes ({@link StreamingChains}) run
+ * as one pipeline whose stages overlap batch by batch. With a {@link FusedChainExecutor},
+ * chains of single-consumer nodes ({@link FusedChains}) run in one node-service request.
+ * All nodes of a unit count as completed together.
+ * <p>
+ * When {@code maxParallelNodes} is positive, at most that many nodes of one graph run at
+ * once and the remaining ready nodes are dispatched in {@link NodePriority} order.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataflowGraphExecutor implements GraphExecutor {
+
+    private final NodeExecutor nodeExecutor;
+    private final GraphExecutionService graphExecutionService;
+    private final ExecutionPlanCache executionPlanCache;
+    private final NotificationService notificationService;
+    private final ExecutionProgressTracker progressTracker;
+    private final Executor graphTaskExecutor;
+    private final NodePriority nodePriority;
+    private final int maxParallelNodes;
+    private final StreamingPipelineExecutor streamingPipelineExecutor;
+    private final FusedChainExecutor fusedChainExecutor;
+
+    public CompletableFuture<GraphExecutionDto> launchExecution(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
+        log.info("startGraphExecution created with id={}, launching dataflow graph execution ...", graphExecutionDto.getId());
+        return CompletableFuture.supplyAsync(() -> execute(graphDto, graphExecutionDto), graphTaskExecutor);
+    }
+
+    private GraphExecutionDto execute(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
+        Long graphExecutionId = graphExecutionDto.getId();
+        ExecutionProgress progress = progressTracker.start(graphExecutionDto);
+        try {
+            Graph graph = executionPlanCache.get(graphDto);
+            graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.RUNNING);
+
+            BlockingQueue<NodeCompletion> completions = new LinkedBlockingQueue<>();
+            PriorityQueue<Node> ready = new PriorityQueue<>(nodePriority.comparator(graph));
+            Map<Long, Integer> pendingDependencies = new HashMap<>();
+            FailureTracker failures = new FailureTracker(graph, graphDto.getFailurePolicy());
+            ExecutionUnits units = compile(graph);
+            int inFlight = 0;
+
+            for (ExecutionUnits.Unit unit : units.units()) {
+                int dependencyCount = units.externalDependencyCount(unit);
+                pendingDependencies.put(unit.head().getId(), dependencyCount);
+                if (dependencyCount == 0) {
+                    ready.add(unit.head());
+                }
+            }
+
+            Throwable failure = null;
+
+            while (true) {
+                while (failure == null && !ready.isEmpty() && hasFreeSlot(inFlight)) {
+                    launch(units.unitOf(ready.poll()), graphExecutionId, completions);
+                    inFlight++;
+                }
+                if (inFlight == 0) break;
+
+                NodeCompletion completion = completions.take();
+                inFlight--;
+
+                List<Node> nodes = completion.unit().nodes();
+                if (completion.error() != null) {
+                    Throwable error = unwrap(completion.error());
+                    // Dependents of a failed node never reach zero pending dependencies, so
+                    // continuing only needs the failure recorded. Otherwise stop scheduling,
+                    // but let already running nodes finish before failing the graph
+                    if (failure == null && !failures.recordFailure(nodes.getFirst(), error)) failure = error;
+                    continue;
+                }
+                if (failure != null) continue;
+
+                progress.advance(nodes.size());
+
+                for (Node node : nodes) {
+                    for (Node dependent : graph.getDependents(node.getId())) {
+                        ExecutionUnits.Unit dependentUnit = units.unitOf(dependent);
+                        // References inside a chain were resolved by the chain's own executor
+                        if (dependentUnit == completion.unit()) continue;
+                        int remaining = pendingDependencies.merge(dependentUnit.head().getId(), -1, Integer::sum);
+                        if (remaining == 0) {
+                            ready.add(dependentUnit.head());
+                        }
+                    }
+                }
+            }
+
+            if (failure != null) {
+                throw failure instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new GraphExecutionException(failure);
+            }
+
+            progress.flush();
+            if (failures.hasFailures()) {
+                graphExecutionService.markPartial(graphExecutionId, failures.summary());
+            } else {
+                graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.COMPLETED);
+            }
+            notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
+
+            return graphExecutionService.findById(graphExecutionId);
+        } catch (Exception e) {
+            log.error("Error executing graph {}: {}", graphDto.getId(), e.getMessage(), e);
+            progress.flush();
+            graphExecutionService.markFailed(graphExecutionId, e.getMessage());
+            notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
+
+            throw new GraphExecutionException(e);
+        }
+    }
+
+    private boolean hasFreeSlot(int inFlight) {
+        return maxParallelNodes <= 0 || inFlight < maxParallelNodes;
+    }
+
+    private ExecutionUnits compile(Graph graph) {
+        List<List<Node>> streamed = streamingPipelineExecutor != null
+                ? StreamingChains.find(graph, streamingPipelineExecutor::splitSpec)
+                : List.of();
+        Set<Long> streamedNodes = streamed.stream()
+                .flatMap(List::stream)
+                .map(Node::getId)
+                .collect(Collectors.toSet());
+        List<List<Node>> fused = fusedChainExecutor != null
+                ? FusedChains.find(graph, streamedNodes)
+                : List.of();
+        return new ExecutionUnits(graph, streamed, fused);
+    }
+
+    private void launch(ExecutionUnits.Unit unit, Long graphExecutionId, BlockingQueue<NodeCompletion> completions) {
+        try {
+            CompletableFuture<?> execution = switch (unit.kind()) {
+                case STREAMED -> streamingPipelineExecutor.launchPipeline(unit.nodes(), graphExecutionId);
+                case FUSED -> fusedChainExecutor.launchChain(unit.nodes(), graphExecutionId);
+                case NODE -> nodeExecutor.launchExecution(unit.head(), graphExecutionId);
+            };
+            execution.whenComplete((result, error) -> completions.add(new NodeCompletion(unit, error)));
+        } catch (Exception e) {
+            // SyncNodeExecutor runs the node eagerly and throws instead of returning a failed future
+            completions.add(new NodeCompletion(unit, e));
+        }
+    }
+
+    private Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private record NodeCompletion(ExecutionUnits.Unit unit, Throwable error) {}
+}
@@ -0,0 +1,65 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+
+import java.util.*;
+
+/**
+ * Groups the nodes of a graph into the units the dataflow executor dispatches: single
+ * nodes, streamed chains and fused chains. A unit is ready once every node reference
+ * pointing into it from outside the unit is satisfied; references between nodes of the
+ * same unit are handled by the unit's own executor.
+ */
+class ExecutionUnits {
+
+    enum Kind { NODE, STREAMED, FUSED }
+
+    record Unit(Kind kind, List<Node> nodes) {
+        Node head() {
+            return nodes.getFirst();
+        }
+    }
+
+    private final Map<Long, Unit> unitsByNode = new HashMap<>();
+    private final Map<Long, Integer> externalDependencies = new HashMap<>();
+    private final List<Unit> units = new ArrayList<>();
+
+    ExecutionUnits(Graph graph, List<List<Node>> streamed, List<List<Node>> fused) {
+        streamed.forEach(chain -> add(new Unit(Kind.STREAMED, chain)));
+        fused.forEach(chain -> add(new Unit(Kind.FUSED, chain)));
+        for (Node node : graph.getNodes()) {
+            if (!unitsByNode.containsKey(node.getId())) {
+                add(new Unit(Kind.NODE, List.of(node)));
+            }
+        }
+
+        for (Unit unit : units) {
+            int external = 0;
+            for (Node node : unit.nodes()) {
+                external += graph.getDependencyCount(node.getId());
+                for (Node dependent : graph.getDependents(node.getId())) {
+                    if (unitOf(dependent) == unit) external--;
+                }
+            }
+            externalDependencies.put(unit.head().getId(), external);
+        }
+    }
+
+    List<Unit> units() {
+        return Collections.unmodifiableList(units);
+    }
+
+    Unit unitOf(Node node) {
+        return unitsByNode.get(node.getId());
+    }
+
+    int externalDependencyCount(Unit unit) {
+        return externalDependencies.get(unit.head().getId());
+    }
+
+    private void add(Unit unit) {
+        units.add(unit);
+        unit.nodes().forEach(node -> unitsByNode.put(node.getId(), unit));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.common.exception.ExecutionCancelledException;
+import com.example.pixel.graph.dto.FailurePolicy;
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+
+import java.util.*;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Decides what a node failure means for the rest of the execution. Under
+ * {@link FailurePolicy#FAIL_FAST} any failure ends the execution. Under
+ * {@link FailurePolicy#CONTINUE_INDEPENDENT} only the failed node's transitive
+ * dependents are skipped and every other branch keeps running; a cancellation always
+ * ends the execution.
+ */
+class FailureTracker {
+
+    private static final String SUMMARY_MESSAGE = "%d node(s) failed, %d skipped: %s";
+
+    private final Graph graph;
+    private final FailurePolicy failurePolicy;
+    private final Set<Long> skipped = new HashSet<>();
+    private final Map<Long, String> failures = new LinkedHashMap<>();
+
+    FailureTracker(Graph graph, FailurePolicy failurePolicy) {
+        this.graph = graph;
+        this.failurePolicy = failurePolicy != null ? failurePolicy : FailurePolicy.FAIL_FAST;
+    }
+
+    /**
+     * Records a failed node.
+     *
+     * @return whether the execution continues with the remaining branches
+     */
+    boolean recordFailure(Node node, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (failurePolicy == FailurePolicy.FAIL_FAST || cause instanceof ExecutionCancelledException) {
+            return false;
+        }
+
+        failures.put(node.getId(), cause.getMessage());
+        Deque<Long> pending = new ArrayDeque<>(List.of(node.getId()));
+        while (!pending.isEmpty()) {
+            for (Node dependent : graph.getDependents(pending.poll())) {
+                if (skipped.add(dependent.getId())) {
+                    pending.add(dependent.getId());
+                }
+            }
+        }
+        return true;
+    }
+
+    boolean isSkipped(Node node) {
+        return skipped.contains(node.getId());
+    }
+
+    boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    String summary() {
+        StringJoiner details = new StringJoiner("; ");
+        failures.forEach((nodeId, message) -> details.add("node " + nodeId + ": " + message));
+        return String.format(SUMMARY_MESSAGE, failures.size(), skipped.size(), details);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+
+import java.util.*;
+
+/**
+ * Linear chains of nodes that can be fused into one node-service request. A node joins
+ * its producer's chain when it is the only consumer of that producer's outputs; a node
+ * fed by several single-consumer producers joins the chain of the first one. Later nodes
+ * of a chain may still reference nodes outside it, in which case the whole chain waits
+ * for those before it starts.
+ */
+class FusedChains {
+
+    private FusedChains() {}
+
+    static List<List<Node>> find(Graph graph, Set<Long> excluded) {
+        Map<Long, Node> successors = new HashMap<>();
+        Set<Long> hasPredecessor = new HashSet<>();
+        for (Node node : graph.getNodes()) {
+            if (excluded.contains(node.getId())) continue;
+
+            List<Node> consumers = graph.getDependents(node.getId());
+            if (consumers.size() != 1) continue;
+
+            Node consumer = consumers.getFirst();
+            if (excluded.contains(consumer.getId()) || !hasPredecessor.add(consumer.getId())) continue;
+            successors.put(node.getId(), consumer);
+        }
+
+        List<List<Node>> chains = new ArrayList<>();
+        for (Node node : graph.getNodes()) {
+            if (!successors.containsKey(node.getId()) || hasPredecessor.contains(node.getId())) continue;
+
+            List<Node> chain = new ArrayList<>(List.of(node));
+            for (Node next = successors.get(node.getId()); next != null; next = successors.get(next.getId())) {
+                chain.add(next);
+            }
+            chains.add(chain);
+        }
+        return chains;
+    }
+}
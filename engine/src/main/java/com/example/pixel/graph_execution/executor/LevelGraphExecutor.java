@@ -3,11 +3,15 @@ package com.example.pixel.graph_execution.executor;
 import com.example.pixel.common.exception.GraphExecutionException;
 import com.example.pixel.graph.dto.GraphDto;
 import com.example.pixel.graph.model.Graph;
+import com.example.pixel.graph.service.ExecutionPlanCache;
 import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.executor.BatchNodeExecutor;
 import com.example.pixel.node_execution.executor.NodeExecutor;
 import com.example.pixel.node_execution.model.Node;
 import com.example.pixel.common.service.NotificationService;
 import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.service.ExecutionProgress;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
 import com.example.pixel.graph_execution.service.GraphExecutionService;
 import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
 import lombok.RequiredArgsConstructor;
@@ -16,17 +20,26 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
 
+/**
+ * Runs the graph level by level, starting every node of a level together and waiting
+ * for all of them before the next. With a {@link BatchNodeExecutor}, a level goes to the
+ * node service as one batched request instead of one request per node.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class LevelGraphExecutor implements GraphExecutor {
 
     private final NodeExecutor nodeExecutor;
     private final GraphExecutionService graphExecutionService;
+    private final ExecutionPlanCache executionPlanCache;
     private final NotificationService notificationService;
+    private final ExecutionProgressTracker progressTracker;
     private final Executor graphTaskExecutor;
+    private final BatchNodeExecutor batchNodeExecutor;
 
     public CompletableFuture<GraphExecutionDto> launchExecution(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
         log.info("startGraphExecution created with id={}, launching async graph execution ...", graphExecutionDto.getId());
@@ -38,36 +51,69 @@ public class LevelGraphExecutor implements GraphExecutor {
 
     private GraphExecutionDto execute(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
         Long graphExecutionId = graphExecutionDto.getId();
+        ExecutionProgress progress = progressTracker.start(graphExecutionDto);
         try {
-            Graph graph = new Graph(graphDto);
+            Graph graph = executionPlanCache.get(graphDto);
             graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.RUNNING);
 
             Iterator<List<Node>> iterator = graph.levelIterator();
-            int processedNodes = 0;
+            FailureTracker failures = new FailureTracker(graph, graphDto.getFailurePolicy());
 
             while (iterator.hasNext()) {
-                List<Node> batch = iterator.next();
-                List<CompletableFuture<NodeExecutionDto>> futures = batch.stream()
-                        .map(node -> nodeExecutor.launchExecution(node, graphExecutionId))
+                List<Node> batch = iterator.next().stream()
+                        .filter(node -> !failures.isSkipped(node))
                         .toList();
+                List<CompletableFuture<NodeExecutionDto>> futures = launch(batch, graphExecutionId);
 
-                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                try {
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                } catch (CompletionException e) {
+                    // allOf waited for the whole level; decide per failed node whether to go on
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (futures.get(i).isCompletedExceptionally()
+                                && !failures.recordFailure(batch.get(i), futures.get(i).exceptionNow())) {
+                            throw e;
+                        }
+                    }
+                }
 
-                processedNodes += batch.size();
-                graphExecutionService.updateProgress(graphExecutionId, processedNodes);
-                notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
+                progress.advance((int) futures.stream().filter(future -> !future.isCompletedExceptionally()).count());
             }
 
-            graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.COMPLETED);
+            progress.flush();
+            if (failures.hasFailures()) {
+                graphExecutionService.markPartial(graphExecutionId, failures.summary());
+            } else {
+                graphExecutionService.updateStatus(graphExecutionId, GraphExecutionStatus.COMPLETED);
+            }
             notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
 
             return graphExecutionService.findById(graphExecutionId);
         } catch (Exception e) {
             log.error("Error executing graph {}: {}", graphDto.getId(), e.getMessage(), e);
+            progress.flush();
             graphExecutionService.markFailed(graphExecutionId, e.getMessage());
             notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionId));
 
             throw new GraphExecutionException(e);
         }
     }
-}
\ No newline at end of file
+
+    private List<CompletableFuture<NodeExecutionDto>> launch(List<Node> batch, Long graphExecutionId) {
+        if (batchNodeExecutor != null) {
+            return batchNodeExecutor.launchAll(batch, graphExecutionId);
+        }
+        return batch.stream()
+                .map(node -> launch(node, graphExecutionId))
+                .toList();
+    }
+
+    private CompletableFuture<NodeExecutionDto> launch(Node node, Long graphExecutionId) {
+        try {
+            return nodeExecutor.launchExecution(node, graphExecutionId);
+        } catch (Exception e) {
+            // SyncNodeExecutor runs the node eagerly and throws instead of returning a failed future
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
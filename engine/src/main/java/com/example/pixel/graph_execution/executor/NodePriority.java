@@ -0,0 +1,14 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+
+import java.util.Comparator;
+
+/**
+ * Decides which ready node is dispatched first when more nodes are ready than there
+ * are free workers. Smaller elements according to the comparator are dispatched first.
+ */
+public interface NodePriority {
+    Comparator<Node> comparator(Graph graph);
+}
@@ -0,0 +1,57 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Chains of split nodes in a graph that can stream batches from one to the next. A node
+ * continues the chain of its producer when its split input is its only node reference
+ * and points at one of the producer's merged outputs. A producer streams into at most
+ * one consumer; further consumers wait for its merged output as usual.
+ */
+class StreamingChains {
+
+    private StreamingChains() {}
+
+    static List<List<Node>> find(Graph graph, Function<String, Optional<NodeSplitSpec>> splitSpecs) {
+        Map<String, Optional<NodeSplitSpec>> specsByType = new HashMap<>();
+        Map<Long, NodeSplitSpec> splittable = new HashMap<>();
+        for (Node node : graph.getNodes()) {
+            specsByType.computeIfAbsent(node.getType(), splitSpecs)
+                    .ifPresent(spec -> splittable.put(node.getId(), spec));
+        }
+
+        Map<Long, Node> successors = new HashMap<>();
+        Set<Long> hasPredecessor = new HashSet<>();
+        for (Node node : graph.getNodes()) {
+            NodeSplitSpec spec = splittable.get(node.getId());
+            if (spec == null || graph.getDependencyCount(node.getId()) != 1) continue;
+            if (!(node.getInputs().get(spec.input()) instanceof NodeReference reference)) continue;
+
+            NodeSplitSpec producerSpec = splittable.get(reference.getNodeId());
+            if (producerSpec != null
+                    && producerSpec.outputs().contains(reference.getOutputName())
+                    && !successors.containsKey(reference.getNodeId())) {
+                successors.put(reference.getNodeId(), node);
+                hasPredecessor.add(node.getId());
+            }
+        }
+
+        List<List<Node>> chains = new ArrayList<>();
+        for (Node node : graph.getNodes()) {
+            if (!successors.containsKey(node.getId()) || hasPredecessor.contains(node.getId())) continue;
+
+            List<Node> chain = new ArrayList<>(List.of(node));
+            for (Node next = successors.get(node.getId()); next != null; next = successors.get(next.getId())) {
+                chain.add(next);
+            }
+            chains.add(chain);
+        }
+        return chains;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.pixel.graph_execution.executor;
+
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.node_execution.model.Node;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dispatches ready nodes in the level order produced by the graph builder.
+ */
+public class TopologicalNodePriority implements NodePriority {
+
+    @Override
+    public Comparator<Node> comparator(Graph graph) {
+        List<Node> nodes = graph.getNodes();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            positions.put(nodes.get(i).getId(), i);
+        }
+        return Comparator.comparingInt(node -> positions.get(node.getId()));
+    }
+}
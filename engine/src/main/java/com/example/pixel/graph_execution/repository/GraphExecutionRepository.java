@@ -1,14 +1,74 @@
 package com.example.pixel.graph_execution.repository;
 
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
 import com.example.pixel.graph_execution.entity.GraphExecutionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Besides the derived queries, progress and status changes of running executions are
+ * single conditional {@code UPDATE} statements, so concurrent node completions neither
+ * lose increments nor fail on the optimistic lock. They bump the version, so a stale
+ * entity saved afterwards is rejected instead of overwriting them.
+ */
 @Repository
 public interface GraphExecutionRepository extends JpaRepository<GraphExecutionEntity, Long> {
     List<GraphExecutionEntity> findByGraphId(String graphId);
     List<GraphExecutionEntity> findByEndTimeBefore(LocalDateTime dateTime);
-}
\ No newline at end of file
+    List<GraphExecutionEntity> findByStatus(GraphExecutionStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GraphExecutionEntity e SET e.processedNodes = e.processedNodes + :delta, e.version = e.version + 1 WHERE e.id = :id")
+    int incrementProcessedNodes(Long id, int delta);
+
+    /**
+     * Moves an execution from one of the {@code from} statuses to {@code status}, keeping
+     * the first start time. Returns 0 if the execution was in any other status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE GraphExecutionEntity e
+            SET e.status = :status, e.startTime = COALESCE(e.startTime, :startTime), e.version = e.version + 1
+            WHERE e.id = :id AND e.status IN :from
+            """)
+    int start(Long id, Collection<GraphExecutionStatus> from, GraphExecutionStatus status, LocalDateTime startTime);
+
+    /**
+     * Moves an execution from one of the {@code from} statuses to the terminal
+     * {@code status}, keeping the first end time and the previous error message if
+     * {@code errorMessage} is null. Returns 0 if the execution was in any other status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE GraphExecutionEntity e
+            SET e.status = :status,
+                e.endTime = COALESCE(e.endTime, :endTime),
+                e.errorMessage = COALESCE(:errorMessage, e.errorMessage),
+                e.version = e.version + 1
+            WHERE e.id = :id AND e.status IN :from
+            """)
+    int finish(Long id, Collection<GraphExecutionStatus> from, GraphExecutionStatus status, LocalDateTime endTime, String errorMessage);
+
+    /**
+     * Moves an execution from one of the {@code from} statuses back to {@code status}
+     * with no progress, end time or error. Returns 0 if the execution was in any other status,
+     * so of two concurrent resumes only one claims the execution.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE GraphExecutionEntity e
+            SET e.status = :status,
+                e.processedNodes = 0,
+                e.endTime = NULL,
+                e.errorMessage = NULL,
+                e.version = e.version + 1
+            WHERE e.id = :id AND e.status IN :from
+            """)
+    int reset(Long id, Collection<GraphExecutionStatus> from, GraphExecutionStatus status);
+}
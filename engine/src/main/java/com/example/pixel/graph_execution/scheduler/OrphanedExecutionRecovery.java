@@ -0,0 +1,29 @@
+package com.example.pixel.graph_execution.scheduler;
+
+import com.example.pixel.graph_execution.service.GraphExecutionRecoveryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opt-in with {@code execution.recovery.on-startup}. Executions carry no owner, so an
+ * instance starting next to others would re-queue the ones they are still running;
+ * enable it only where a single engine instance writes to the database.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "execution.recovery.on-startup", havingValue = "true")
+public class OrphanedExecutionRecovery {
+
+    private final GraphExecutionRecoveryService graphExecutionRecoveryService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        log.info("Recovering graph executions interrupted by the previous shutdown");
+        graphExecutionRecoveryService.recoverOrphaned();
+    }
+}
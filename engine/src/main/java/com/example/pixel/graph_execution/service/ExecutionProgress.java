@@ -0,0 +1,117 @@
+package com.example.pixel.graph_execution.service;
+
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processed-node counter of one running graph execution. Completions only increment an
+ * atomic counter; whichever thread finds a write or notification due performs it, while
+ * concurrent completions skip it and are covered by that or the next one. The stored
+ * count therefore lags behind by at most one persist interval or step, until
+ * {@link #flush()} writes the exact value before the final status.
+ */
+public class ExecutionProgress {
+
+    private final GraphExecutionDto graphExecutionDto;
+    private final GraphExecutionService graphExecutionService;
+    private final NotificationService notificationService;
+    private final long persistIntervalNanos;
+    private final int persistStep;
+    private final long notifyIntervalNanos;
+
+    private final AtomicInteger processedNodes = new AtomicInteger();
+    private final AtomicBoolean reporting = new AtomicBoolean();
+    // Guarded by reporting
+    private int persistedNodes;
+    private long persistedAt;
+    private long notifiedAt;
+
+    ExecutionProgress(
+            GraphExecutionDto graphExecutionDto,
+            GraphExecutionService graphExecutionService,
+            NotificationService notificationService,
+            long persistIntervalNanos,
+            int persistStep,
+            long notifyIntervalNanos
+    ) {
+        this.graphExecutionDto = graphExecutionDto;
+        this.graphExecutionService = graphExecutionService;
+        this.notificationService = notificationService;
+        this.persistIntervalNanos = persistIntervalNanos;
+        this.persistStep = persistStep;
+        this.notifyIntervalNanos = notifyIntervalNanos;
+        // A resumed execution already stores its checkpointed nodes, which run again as
+        // completed; nothing is written until the count passes them
+        this.persistedNodes = graphExecutionDto.getProcessedNodes() != null ? graphExecutionDto.getProcessedNodes() : 0;
+        this.persistedAt = System.nanoTime();
+        this.notifiedAt = persistedAt - notifyIntervalNanos;
+    }
+
+    public int getProcessedNodes() {
+        return processedNodes.get();
+    }
+
+    /**
+     * Counts completed nodes, persisting and publishing the progress if due.
+     */
+    public void advance(int nodes) {
+        processedNodes.addAndGet(nodes);
+        if (!reporting.compareAndSet(false, true)) return;
+
+        try {
+            int processed = processedNodes.get();
+            long now = System.nanoTime();
+            if (processed - persistedNodes >= persistStep
+                    || (processed > persistedNodes && now - persistedAt >= persistIntervalNanos)) {
+                persist(processed, now);
+            }
+            if (now - notifiedAt >= notifyIntervalNanos) {
+                notificationService.sendTaskStatus(snapshot(Math.max(processed, persistedNodes)));
+                notifiedAt = now;
+            }
+        } finally {
+            reporting.set(false);
+        }
+    }
+
+    /**
+     * Writes the exact processed count, if it is ahead of the last one written. Called
+     * by the executor once all nodes have finished, before it records the final status.
+     */
+    public void flush() {
+        while (!reporting.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            int processed = processedNodes.get();
+            if (processed > persistedNodes) {
+                persist(processed, System.nanoTime());
+            }
+        } finally {
+            reporting.set(false);
+        }
+    }
+
+    private void persist(int processed, long now) {
+        graphExecutionService.incrementProgress(graphExecutionDto.getId(), processed - persistedNodes);
+        persistedNodes = processed;
+        persistedAt = now;
+    }
+
+    private GraphExecutionDto snapshot(int processed) {
+        return new GraphExecutionDto(
+                graphExecutionDto.getId(),
+                graphExecutionDto.getGraphId(),
+                GraphExecutionStatus.RUNNING,
+                graphExecutionDto.getStartTime(),
+                null,
+                graphExecutionDto.getTotalNodes(),
+                processed,
+                null
+        );
+    }
+}
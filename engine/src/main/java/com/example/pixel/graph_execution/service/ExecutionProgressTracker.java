@@ -0,0 +1,54 @@
+package com.example.pixel.graph_execution.service;
+
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Creates the {@link ExecutionProgress} of running graph executions. Progress is counted
+ * in memory and written to {@code graph_executions} once {@code persistInterval} has
+ * passed or another {@code persistStepPercent} of the nodes has completed, whichever
+ * comes first. WebSocket updates are sent at most once per {@code notifyInterval}.
+ */
+@Service
+public class ExecutionProgressTracker {
+
+    private final GraphExecutionService graphExecutionService;
+    private final NotificationService notificationService;
+    private final Duration persistInterval;
+    private final int persistStepPercent;
+    private final Duration notifyInterval;
+
+    public ExecutionProgressTracker(
+            GraphExecutionService graphExecutionService,
+            NotificationService notificationService,
+            @Value("${execution.progress.persist-interval-ms}") long persistIntervalMs,
+            @Value("${execution.progress.persist-step-percent}") int persistStepPercent,
+            @Value("${execution.progress.notify-interval-ms}") long notifyIntervalMs
+    ) {
+        this.graphExecutionService = graphExecutionService;
+        this.notificationService = notificationService;
+        this.persistInterval = Duration.ofMillis(persistIntervalMs);
+        this.persistStepPercent = persistStepPercent;
+        this.notifyInterval = Duration.ofMillis(notifyIntervalMs);
+    }
+
+    public ExecutionProgress start(GraphExecutionDto graphExecutionDto) {
+        Integer totalNodes = graphExecutionDto.getTotalNodes();
+        int persistStep = totalNodes == null || totalNodes == 0 || persistStepPercent <= 0
+                ? Integer.MAX_VALUE
+                : Math.max(1, (int) Math.ceil(totalNodes * persistStepPercent / 100.0));
+
+        return new ExecutionProgress(
+                graphExecutionDto,
+                graphExecutionService,
+                notificationService,
+                persistInterval.toNanos(),
+                persistStep,
+                notifyInterval.toNanos()
+        );
+    }
+}
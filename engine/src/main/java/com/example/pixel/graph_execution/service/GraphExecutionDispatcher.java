@@ -0,0 +1,271 @@
+package com.example.pixel.graph_execution.service;
+
+import com.example.pixel.common.exception.ExecutionQueueFullException;
+import com.example.pixel.common.exception.GraphExecutionException;
+import com.example.pixel.common.exception.InvalidGraphExecutionStateException;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.executor.GraphExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Admission layer in front of the {@link GraphExecutor}. Executions are queued per graph
+ * id and started only while the global and per-graph running limits allow it, so bursts
+ * of requests or cron triggers wait as PENDING instead of flooding the executor.
+ * <p>
+ * Graph ids share the running slots by stride scheduling: every dispatch advances the
+ * graph's pass by {@code 1 / weight} and the queued graph with the smallest pass goes
+ * next. A graph that was idle re-enters at the current minimum pass, so it cannot build
+ * up credit while it had nothing queued.
+ */
+@Slf4j
+@Service
+public class GraphExecutionDispatcher {
+
+    private static final String QUEUE_FULL_MESSAGE = "Execution queue is full (%d queued), graph %s was not started";
+    private static final String NOT_CANCELLABLE_MESSAGE = "Graph execution %s is %s and cannot be cancelled";
+
+    private static final ThreadLocal<Boolean> DRAINING = ThreadLocal.withInitial(() -> false);
+
+    private final GraphExecutor graphExecutor;
+    private final GraphExecutionService graphExecutionService;
+    private final NotificationService notificationService;
+    private final CancellationRegistry cancellationRegistry;
+    private final int maxRunning;
+    private final int maxRunningPerGraph;
+    private final int queueCapacity;
+    private final Map<String, Integer> weights;
+
+    private final Map<String, GraphQueue> queues = new HashMap<>();
+    private final Set<Long> runningIds = new HashSet<>();
+    private int running = 0;
+    private int queued = 0;
+    private double virtualTime = 0;
+
+    public GraphExecutionDispatcher(
+            GraphExecutor graphExecutor,
+            GraphExecutionService graphExecutionService,
+            NotificationService notificationService,
+            CancellationRegistry cancellationRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${execution.admission.max-running}") int maxRunning,
+            @Value("${execution.admission.max-running-per-graph}") int maxRunningPerGraph,
+            @Value("${execution.admission.queue-capacity}") int queueCapacity,
+            @Value("#{${execution.admission.weights}}") Map<String, Integer> weights
+    ) {
+        this.graphExecutor = graphExecutor;
+        this.graphExecutionService = graphExecutionService;
+        this.notificationService = notificationService;
+        this.cancellationRegistry = cancellationRegistry;
+        this.maxRunning = maxRunning;
+        this.maxRunningPerGraph = maxRunningPerGraph;
+        this.queueCapacity = queueCapacity;
+        this.weights = weights;
+
+        Gauge.builder("pixel.graph.admission.running", this, GraphExecutionDispatcher::runningCount)
+                .description("Graph executions holding a running slot")
+                .register(meterRegistry);
+        Gauge.builder("pixel.graph.admission.queued", this, GraphExecutionDispatcher::queuedCount)
+                .description("Graph executions waiting for a running slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a PENDING execution and starts it as soon as a slot is free. Fails the
+     * execution if the run queue is already at capacity.
+     */
+    public void submit(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {
+        boolean accepted = false;
+        synchronized (this) {
+            if (queued < queueCapacity) {
+                GraphQueue queue = queues.computeIfAbsent(graphDto.getId(), GraphQueue::new);
+                if (queue.isIdle()) {
+                    queue.pass = Math.max(queue.pass, virtualTime);
+                }
+                queue.pending.add(new QueuedExecution(graphDto, graphExecutionDto));
+                queued++;
+                accepted = true;
+            }
+        }
+
+        if (!accepted) {
+            String message = String.format(QUEUE_FULL_MESSAGE, queueCapacity, graphDto.getId());
+            graphExecutionService.markFailed(graphExecutionDto.getId(), message);
+            throw new ExecutionQueueFullException(message);
+        }
+
+        log.debug("Graph execution {} for graph {} queued", graphExecutionDto.getId(), graphDto.getId());
+        drain();
+    }
+
+    /**
+     * Cancels a PENDING or RUNNING execution. A queued execution is dropped before it
+     * starts; a running one stops scheduling nodes and its in-flight node calls are
+     * interrupted, which releases its graph thread as soon as they unwind.
+     */
+    public GraphExecutionDto cancel(Long graphExecutionId) {
+        GraphExecutionDto graphExecutionDto = graphExecutionService.findById(graphExecutionId);
+        GraphExecutionStatus status = graphExecutionDto.getStatus();
+        if (status != GraphExecutionStatus.PENDING && status != GraphExecutionStatus.RUNNING) {
+            throw new InvalidGraphExecutionStateException(String.format(NOT_CANCELLABLE_MESSAGE, graphExecutionId, status));
+        }
+
+        // Status first, so the executor's own failure handling cannot overwrite it
+        if (!graphExecutionService.markCancelled(graphExecutionId)) {
+            // Finished between the check above and the conditional update
+            GraphExecutionStatus finished = graphExecutionService.findById(graphExecutionId).getStatus();
+            throw new InvalidGraphExecutionStateException(String.format(NOT_CANCELLABLE_MESSAGE, graphExecutionId, finished));
+        }
+        stop(graphExecutionId);
+        log.info("Graph execution {} cancelled", graphExecutionId);
+
+        GraphExecutionDto cancelled = graphExecutionService.findById(graphExecutionId);
+        notificationService.sendTaskStatus(cancelled);
+        return cancelled;
+    }
+
+    /**
+     * Whether the execution is queued or its run has not yet released its slot. A
+     * cancelled run stays active until its in-flight node calls have unwound.
+     */
+    public synchronized boolean isActive(Long graphExecutionId) {
+        if (runningIds.contains(graphExecutionId)) return true;
+        for (GraphQueue queue : queues.values()) {
+            for (QueuedExecution execution : queue.pending) {
+                if (execution.graphExecutionDto().getId().equals(graphExecutionId)) return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized int runningCount() {
+        return running;
+    }
+
+    private synchronized int queuedCount() {
+        return queued;
+    }
+
+    private void drain() {
+        // A synchronous executor completes inside launch() and calls back into drain();
+        // the outer loop picks up the freed slot instead of recursing once per queued run
+        if (DRAINING.get()) return;
+
+        DRAINING.set(true);
+        try {
+            QueuedExecution next;
+            while ((next = pollNext()) != null) {
+                launch(next);
+            }
+        } finally {
+            DRAINING.set(false);
+        }
+    }
+
+    /**
+     * Drops a queued execution or flags a running one. Runs under the same lock as
+     * {@link #release}, so a run that has already released its slot is never flagged
+     * and its id is not left in the cancellation registry.
+     */
+    private synchronized void stop(Long graphExecutionId) {
+        if (removeQueued(graphExecutionId)) return;
+        if (runningIds.contains(graphExecutionId)) {
+            cancellationRegistry.cancel(graphExecutionId);
+        }
+    }
+
+    private synchronized boolean removeQueued(Long graphExecutionId) {
+        for (GraphQueue queue : queues.values()) {
+            boolean removed = queue.pending.removeIf(execution -> execution.graphExecutionDto().getId().equals(graphExecutionId));
+            if (removed) {
+                queued--;
+                if (queue.isIdle()) {
+                    queues.remove(queue.graphId);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized QueuedExecution pollNext() {
+        if (running >= maxRunning) return null;
+
+        GraphQueue selected = null;
+        for (GraphQueue queue : queues.values()) {
+            if (queue.pending.isEmpty() || queue.running >= maxRunningPerGraph) continue;
+            if (selected == null || queue.pass < selected.pass) {
+                selected = queue;
+            }
+        }
+        if (selected == null) return null;
+
+        virtualTime = Math.max(virtualTime, selected.pass);
+        selected.pass += 1.0 / weights.getOrDefault(selected.graphId, 1);
+        selected.running++;
+        running++;
+        queued--;
+
+        QueuedExecution next = selected.pending.poll();
+        runningIds.add(next.graphExecutionDto().getId());
+        return next;
+    }
+
+    private void launch(QueuedExecution execution) {
+        GraphExecutionDto graphExecutionDto = execution.graphExecutionDto();
+        String graphId = execution.graphDto().getId();
+
+        try {
+            graphExecutor.launchExecution(execution.graphDto(), graphExecutionDto)
+                    .whenComplete((result, error) -> release(graphId, graphExecutionDto.getId()));
+        } catch (GraphExecutionException e) {
+            // Synchronous executors record the failure themselves before rethrowing
+            release(graphId, graphExecutionDto.getId());
+        } catch (Exception e) {
+            log.error("Failed to launch graph execution {}: {}", graphExecutionDto.getId(), e.getMessage(), e);
+            graphExecutionService.markFailed(graphExecutionDto.getId(), e.getMessage());
+            notificationService.sendTaskStatus(graphExecutionService.findById(graphExecutionDto.getId()));
+            release(graphId, graphExecutionDto.getId());
+        }
+    }
+
+    private void release(String graphId, Long graphExecutionId) {
+        synchronized (this) {
+            runningIds.remove(graphExecutionId);
+            cancellationRegistry.forget(graphExecutionId);
+            GraphQueue queue = queues.get(graphId);
+            queue.running--;
+            running--;
+            if (queue.isIdle()) {
+                queues.remove(graphId);
+            }
+        }
+        drain();
+    }
+
+    private record QueuedExecution(GraphDto graphDto, GraphExecutionDto graphExecutionDto) {}
+
+    private static class GraphQueue {
+        private final String graphId;
+        private final Deque<QueuedExecution> pending = new ArrayDeque<>();
+        private int running = 0;
+        private double pass = 0;
+
+        private GraphQueue(String graphId) {
+            this.graphId = graphId;
+        }
+
+        private boolean isIdle() {
+            return pending.isEmpty() && running == 0;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.pixel.graph_execution.service;
+
+import com.example.pixel.common.exception.InvalidGraphExecutionStateException;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.service.GraphService;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Restarts an execution without repeating the nodes it already completed. The outputs
+ * stored on COMPLETED node execution rows are written back to the node cache, and the
+ * node executors skip any node whose output is already there, so all graph executor
+ * modes resume the same way.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class GraphExecutionRecoveryService {
+
+    private static final Set<GraphExecutionStatus> RESUMABLE = EnumSet.of(
+            GraphExecutionStatus.FAILED, GraphExecutionStatus.PARTIAL, GraphExecutionStatus.CANCELLED
+    );
+    private static final String NOT_RESUMABLE_MESSAGE = "Graph execution %s is %s and cannot be resumed";
+    private static final String STILL_RUNNING_MESSAGE = "Graph execution %s is still winding down and cannot be resumed yet";
+    private static final String INTERRUPTED_MESSAGE = "Interrupted before completion, resumed by graph execution %s";
+
+    private final GraphService graphService;
+    private final GraphExecutionService graphExecutionService;
+    private final GraphExecutionDispatcher graphExecutionDispatcher;
+    private final NodeExecutionService nodeExecutionService;
+
+    /**
+     * Resumes a FAILED, PARTIAL or CANCELLED execution from its last completed nodes.
+     * Refused while a previous run of the execution is still held by the dispatcher.
+     */
+    public GraphExecutionDto resume(Long id) {
+        GraphExecutionDto graphExecutionDto = graphExecutionService.findById(id);
+        if (!RESUMABLE.contains(graphExecutionDto.getStatus())) {
+            throw new InvalidGraphExecutionStateException(
+                    String.format(NOT_RESUMABLE_MESSAGE, id, graphExecutionDto.getStatus())
+            );
+        }
+        if (graphExecutionDispatcher.isActive(id)) {
+            throw new InvalidGraphExecutionStateException(String.format(STILL_RUNNING_MESSAGE, id));
+        }
+        return restart(graphExecutionDto, RESUMABLE);
+    }
+
+    /**
+     * Re-queues executions left RUNNING or PENDING by a previous engine process. Only
+     * valid while this is the sole engine instance writing to the database.
+     */
+    public void recoverOrphaned() {
+        for (GraphExecutionStatus status : List.of(GraphExecutionStatus.RUNNING, GraphExecutionStatus.PENDING)) {
+            for (GraphExecutionDto graphExecutionDto : graphExecutionService.findByStatus(status)) {
+                try {
+                    restart(graphExecutionDto, EnumSet.of(status));
+                } catch (Exception e) {
+                    log.error("Failed to recover graph execution {}: {}", graphExecutionDto.getId(), e.getMessage(), e);
+                    graphExecutionService.markFailed(graphExecutionDto.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the execution with a conditional reset to PENDING before touching any of
+     * its node executions, so only one of two concurrent restarts goes on to submit it.
+     */
+    private GraphExecutionDto restart(GraphExecutionDto graphExecutionDto, Set<GraphExecutionStatus> from) {
+        Long id = graphExecutionDto.getId();
+        GraphDto graphDto = graphService.findById(graphExecutionDto.getGraphId());
+
+        if (!graphExecutionService.prepareResume(id, from)) {
+            GraphExecutionStatus current = graphExecutionService.findById(id).getStatus();
+            throw new InvalidGraphExecutionStateException(String.format(NOT_RESUMABLE_MESSAGE, id, current));
+        }
+        try {
+            return requeue(id, graphDto);
+        } catch (RuntimeException e) {
+            graphExecutionService.markFailed(id, e.getMessage());
+            throw e;
+        }
+    }
+
+    private GraphExecutionDto requeue(Long id, GraphDto graphDto) {
+        nodeExecutionService.failRunning(id, String.format(INTERRUPTED_MESSAGE, id));
+
+        // The graph may have been edited since; only reuse nodes that still exist unchanged in type
+        Map<Long, String> nodeTypes = graphDto.getNodes().stream()
+                .collect(Collectors.toMap(Node::getId, Node::getType));
+        Map<Long, NodeExecutionDto> completed = nodeExecutionService.findCompleted(id).stream()
+                .filter(execution -> Objects.equals(nodeTypes.get(execution.getNodeId()), execution.getNodeType()))
+                .collect(Collectors.toMap(NodeExecutionDto::getNodeId, Function.identity(), (first, second) -> second));
+        completed.values().forEach(nodeExecutionService::restore);
+
+        log.info("Resuming graph execution {}: {} of {} nodes already completed", id, completed.size(), nodeTypes.size());
+
+        if (!completed.isEmpty()) {
+            graphExecutionService.incrementProgress(id, completed.size());
+        }
+        GraphExecutionDto resumed = graphExecutionService.findById(id);
+        graphExecutionDispatcher.submit(graphDto, resumed);
+        return resumed;
+    }
+}
@@ -15,7 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 
 @Slf4j
@@ -24,6 +27,7 @@ import java.util.List;
 public class GraphExecutionService {
 
     private static final String GRAPH_EXECUTION_NOT_FOUND_MESSAGE = "Graph execution not found: ";
+    private static final Set<GraphExecutionStatus> ACTIVE_STATUSES = EnumSet.of(GraphExecutionStatus.PENDING, GraphExecutionStatus.RUNNING);
 
     private final GraphExecutionMapper  graphExecutionMapper;
     private final GraphExecutionRepository graphExecutionRepository;
@@ -54,6 +58,14 @@ public class GraphExecutionService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<GraphExecutionDto> findByStatus(GraphExecutionStatus status) {
+        List<GraphExecutionEntity> graphExecutionEntities = graphExecutionRepository.findByStatus(status);
+        return graphExecutionEntities.stream()
+                .map(graphExecutionMapper::toDto)
+                .toList();
+    }
+
     @Transactional
     public GraphExecutionDto create(GraphDto graphDto) {
         GraphExecutionEntity graphExecutionEntity = GraphExecutionEntity
@@ -68,36 +80,66 @@ public class GraphExecutionService {
         return graphExecutionMapper.toDto(graphExecutionEntity);
     }
 
+    /**
+     * Moves a pending or running execution to RUNNING or to a terminal status. A
+     * cancelled or already finished execution keeps its status while in-flight work
+     * winds down.
+     */
     @Transactional
     public void updateStatus(Long id, GraphExecutionStatus status) {
-        GraphExecutionEntity graphExecutionEntity = graphExecutionRepository.findById(id)
-                .orElseThrow(() -> new GraphExecutionNotFoundException(GRAPH_EXECUTION_NOT_FOUND_MESSAGE + id));
-        graphExecutionEntity.setStatus(status);
-        if (status == GraphExecutionStatus.RUNNING && graphExecutionEntity.getStartTime() == null) {
-            graphExecutionEntity.setStartTime(LocalDateTime.now());
-        } else if ((status == GraphExecutionStatus.COMPLETED || status == GraphExecutionStatus.FAILED)
-                && graphExecutionEntity.getEndTime() == null) {
-            graphExecutionEntity.setEndTime(LocalDateTime.now());
+        int updated = status == GraphExecutionStatus.RUNNING
+                ? graphExecutionRepository.start(id, ACTIVE_STATUSES, status, LocalDateTime.now())
+                : graphExecutionRepository.finish(id, ACTIVE_STATUSES, status, LocalDateTime.now(), null);
+        requireTransition(id, status, updated);
+    }
+
+    /**
+     * Adds to the processed node count in a single statement, so concurrent completions
+     * of one execution do not overwrite each other.
+     */
+    @Transactional
+    public void incrementProgress(Long id, int processedNodes) {
+        if (graphExecutionRepository.incrementProcessedNodes(id, processedNodes) == 0) {
+            throw new GraphExecutionNotFoundException(GRAPH_EXECUTION_NOT_FOUND_MESSAGE + id);
         }
-        graphExecutionRepository.save(graphExecutionEntity);
     }
 
+    /**
+     * Moves an execution in one of the {@code from} statuses back to PENDING with no
+     * progress. Returns false if it was in any other status, for example because a
+     * concurrent resume already claimed it.
+     */
     @Transactional
-    public void updateProgress(Long id, int processedNodes) {
-        GraphExecutionEntity graphExecutionEntity = graphExecutionRepository.findById(id)
-                .orElseThrow(() -> new GraphExecutionNotFoundException(GRAPH_EXECUTION_NOT_FOUND_MESSAGE + id));
-        graphExecutionEntity.setProcessedNodes(processedNodes);
-        graphExecutionRepository.save(graphExecutionEntity);
+    public boolean prepareResume(Long id, Collection<GraphExecutionStatus> from) {
+        int updated = graphExecutionRepository.reset(id, from, GraphExecutionStatus.PENDING);
+        requireTransition(id, GraphExecutionStatus.PENDING, updated);
+        return updated > 0;
     }
 
     @Transactional
     public void markFailed(Long id, String errorMessage) {
-        GraphExecutionEntity graphExecutionEntity = graphExecutionRepository.findById(id)
-                .orElseThrow(() -> new GraphExecutionNotFoundException(GRAPH_EXECUTION_NOT_FOUND_MESSAGE + id));
-        graphExecutionEntity.setStatus(GraphExecutionStatus.FAILED);
-        if (graphExecutionEntity.getEndTime() == null) graphExecutionEntity.setEndTime(LocalDateTime.now());
-        graphExecutionEntity.setErrorMessage(errorMessage);
-        graphExecutionRepository.save(graphExecutionEntity);
+        int updated = graphExecutionRepository.finish(id, ACTIVE_STATUSES, GraphExecutionStatus.FAILED, LocalDateTime.now(), errorMessage);
+        requireTransition(id, GraphExecutionStatus.FAILED, updated);
+    }
+
+    /**
+     * Ends an execution in which some branches failed while the independent ones ran
+     * to completion.
+     */
+    @Transactional
+    public void markPartial(Long id, String errorMessage) {
+        int updated = graphExecutionRepository.finish(id, ACTIVE_STATUSES, GraphExecutionStatus.PARTIAL, LocalDateTime.now(), errorMessage);
+        requireTransition(id, GraphExecutionStatus.PARTIAL, updated);
+    }
+
+    /**
+     * Cancels a pending or running execution. Returns false if it had already finished.
+     */
+    @Transactional
+    public boolean markCancelled(Long id) {
+        int updated = graphExecutionRepository.finish(id, ACTIVE_STATUSES, GraphExecutionStatus.CANCELLED, LocalDateTime.now(), null);
+        requireTransition(id, GraphExecutionStatus.CANCELLED, updated);
+        return updated > 0;
     }
 
     @Transactional
@@ -117,4 +159,12 @@ public class GraphExecutionService {
                 .map(graphExecutionMapper:: toDto)
                 .toList();
     }
-}
\ No newline at end of file
+
+    private void requireTransition(Long id, GraphExecutionStatus status, int updated) {
+        if (updated > 0) return;
+        if (!graphExecutionRepository.existsById(id)) {
+            throw new GraphExecutionNotFoundException(GRAPH_EXECUTION_NOT_FOUND_MESSAGE + id);
+        }
+        log.debug("Graph execution {} is no longer active, not moving it to {}", id, status);
+    }
+}
@@ -17,6 +17,7 @@ public class NodeConfigurationDto {
     private Map<String, Object> inputs;
     private Map<String, Object> outputs;
     private Map<String, Object> display;
+    private Map<String, Object> execution;
     private Instant createdAt;
     private Boolean active;
 }
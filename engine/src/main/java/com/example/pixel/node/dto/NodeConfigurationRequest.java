@@ -12,4 +12,5 @@ public class NodeConfigurationRequest {
     private Map<String, Object> inputs;
     private Map<String, Object>  outputs;
     private Map<String, Object>  display;
+    private Map<String, Object>  execution;
 }
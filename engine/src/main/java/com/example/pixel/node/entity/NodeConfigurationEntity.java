@@ -41,6 +41,10 @@ public class NodeConfigurationEntity {
     @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> display;
 
+    @Column(columnDefinition = "json")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Object> execution;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -13,4 +13,6 @@ public interface NodeRepository extends JpaRepository<NodeConfigurationEntity, L
     @Query("SELECT n FROM NodeConfigurationEntity n WHERE n.type = :type ORDER BY n.version DESC LIMIT 1")
     Optional<NodeConfigurationEntity> findLatestByType(String type);
     List<NodeConfigurationEntity> findByActiveTrue();
+    @Query("SELECT MAX(n.id) FROM NodeConfigurationEntity n")
+    Optional<Long> findMaxId();
 }
@@ -9,9 +9,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
@@ -19,6 +18,7 @@ public class NodeService {
 
     private final NodeMapper nodeMapper;
     private final NodeRepository repository;
+    private final NodeTypeRegistry nodeTypeRegistry;
 
     public NodeConfigurationDto create(NodeConfigurationRequest nodeConfigurationRequest) {
         NodeConfigurationEntity latest = repository.findLatestByType(nodeConfigurationRequest.getType()).orElse(null);
@@ -35,6 +35,7 @@ public class NodeService {
                 .inputs(nodeConfigurationRequest.getInputs())
                 .outputs(nodeConfigurationRequest.getOutputs())
                 .display(nodeConfigurationRequest.getDisplay())
+                .execution(nodeConfigurationRequest.getExecution())
                 .createdAt(Instant.now())
                 .version(nextVersion)
                 .active(true)
@@ -42,16 +43,16 @@ public class NodeService {
 
         nodeConfigurationEntity = repository.save(nodeConfigurationEntity);
 
-        return nodeMapper.toDto(nodeConfigurationEntity);
+        NodeConfigurationDto nodeConfigurationDto = nodeMapper.toDto(nodeConfigurationEntity);
+        nodeTypeRegistry.register(nodeConfigurationDto);
+        return nodeConfigurationDto;
     }
 
-    public Map<String, NodeConfigurationDto> getAllActiveNodes() {
-        List<NodeConfigurationEntity> activeNodes = repository.findByActiveTrue();
+    public Optional<NodeConfigurationDto> findActive(String type) {
+        return nodeTypeRegistry.find(type);
+    }
 
-        Map<String, NodeConfigurationDto> result = new HashMap<>();
-        for (NodeConfigurationEntity node: activeNodes) {
-            result.put(node.getType(), nodeMapper.toDto(node));
-        }
-        return result;
+    public Map<String, NodeConfigurationDto> getAllActiveNodes() {
+        return nodeTypeRegistry.getAll();
     }
 }
@@ -0,0 +1,108 @@
+package com.example.pixel.node.service;
+
+import com.example.pixel.node.dto.NodeConfigurationDto;
+import com.example.pixel.node.entity.NodeConfigurationEntity;
+import com.example.pixel.node.mapper.NodeMapper;
+import com.example.pixel.node.repository.NodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Active node configurations by type, held in memory so graph validation and node
+ * execution do not query the database for them. Readers get an immutable snapshot;
+ * registering a type swaps in a modified copy.
+ * <p>
+ * Every new node version is a new row, so the highest configuration id identifies the
+ * registry contents. Each instance polls it and reloads when another instance has
+ * registered a version it has not seen.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class NodeTypeRegistry {
+
+    private final NodeRepository repository;
+    private final NodeMapper nodeMapper;
+
+    private volatile Snapshot snapshot;
+
+    public Optional<NodeConfigurationDto> find(String type) {
+        NodeType nodeType = snapshot().types().get(type);
+        return nodeType == null ? Optional.empty() : Optional.of(nodeType.configuration());
+    }
+
+    /**
+     * Names of the inputs declared by a node type, or empty if the type is not registered.
+     */
+    public Optional<Set<String>> inputNames(String type) {
+        NodeType nodeType = snapshot().types().get(type);
+        return nodeType == null ? Optional.empty() : Optional.of(nodeType.inputNames());
+    }
+
+    public Map<String, NodeConfigurationDto> getAll() {
+        Map<String, NodeConfigurationDto> result = new HashMap<>();
+        snapshot().types().forEach((type, nodeType) -> result.put(type, nodeType.configuration()));
+        return result;
+    }
+
+    /**
+     * Makes a newly saved configuration the active version of its type.
+     */
+    public synchronized void register(NodeConfigurationDto configuration) {
+        Snapshot current = snapshot();
+        Map<String, NodeType> types = new HashMap<>(current.types());
+        types.put(configuration.getType(), NodeType.of(configuration));
+        // The revision stays behind, as other instances may have saved versions in between;
+        // the next poll reloads everything once
+        snapshot = new Snapshot(current.revision(), Map.copyOf(types));
+    }
+
+    @Scheduled(fixedDelayString = "${node.registry.refresh-ms}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        if (current == null) return;
+
+        long revision = repository.findMaxId().orElse(0L);
+        if (revision != current.revision()) {
+            reload();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+
+        synchronized (this) {
+            return snapshot != null ? snapshot : reload();
+        }
+    }
+
+    private synchronized Snapshot reload() {
+        // Read the revision first, so a version saved during the load triggers another one
+        long revision = repository.findMaxId().orElse(0L);
+
+        Map<String, NodeType> types = new HashMap<>();
+        for (NodeConfigurationEntity entity : repository.findByActiveTrue()) {
+            types.put(entity.getType(), NodeType.of(nodeMapper.toDto(entity)));
+        }
+
+        snapshot = new Snapshot(revision, Map.copyOf(types));
+        log.debug("Loaded {} node types at revision {}", types.size(), revision);
+        return snapshot;
+    }
+
+    private record Snapshot(long revision, Map<String, NodeType> types) {}
+
+    private record NodeType(NodeConfigurationDto configuration, Set<String> inputNames) {
+        static NodeType of(NodeConfigurationDto configuration) {
+            Set<String> inputNames = configuration.getInputs() == null
+                    ? Set.of()
+                    : Set.copyOf(configuration.getInputs().keySet());
+            return new NodeType(configuration, inputNames);
+        }
+    }
+}
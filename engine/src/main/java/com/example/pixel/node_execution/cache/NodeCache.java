@@ -1,9 +1,16 @@
 package com.example.pixel.node_execution.cache;
 
+import java.time.Duration;
 import java.util.Map;
 
 public interface NodeCache {
     void put(String key, Map<String, Object> data);
+
+    /**
+     * Stores an entry that expires after {@code ttl}, for keys that are not scoped to a
+     * graph execution and would otherwise accumulate for good.
+     */
+    void put(String key, Map<String, Object> data, Duration ttl);
     Map<String, Object> get(String key);
     boolean exists(String key);
 }
@@ -11,6 +11,7 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 
 import static com.example.pixel.common.model.Profiles.*;
@@ -29,10 +30,14 @@ public class RedisNodeCache implements NodeCache {
     @Override
     public void put(String key, Map<String, Object> data) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String serializedData = objectMapper.writeValueAsString(data);
-            jedis.set(key, serializedData);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(String.format(UNABLE_TO_STORE_KEY_MESSAGE, key), e);
+            jedis.set(key, serialize(key, data));
+        }
+    }
+
+    @Override
+    public void put(String key, Map<String, Object> data, Duration ttl) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.setex(key, Math.max(1, ttl.toSeconds()), serialize(key, data));
         }
     }
 
@@ -55,4 +60,12 @@ public class RedisNodeCache implements NodeCache {
             return jedis.exists(key);
         }
     }
+
+    private String serialize(String key, Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(String.format(UNABLE_TO_STORE_KEY_MESSAGE, key), e);
+        }
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.Map;
 
 import static com.example.pixel.common.model.Profiles.*;
@@ -37,6 +38,15 @@ public class SpringNodeCache implements NodeCache {
         }
     }
 
+    /**
+     * The in-process cache has no expiry; the entry lives as long as the process, like
+     * every other entry in it.
+     */
+    @Override
+    public void put(String key, Map<String, Object> data, Duration ttl) {
+        put(key, data);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Map<String, Object> get(String key) {
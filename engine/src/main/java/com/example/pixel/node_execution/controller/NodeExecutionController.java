@@ -1,13 +1,11 @@
 package com.example.pixel.node_execution.controller;
 
-import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeExecutionPayloadDto;
+import com.example.pixel.node_execution.dto.NodeExecutionSummaryDto;
 import com.example.pixel.node_execution.service.NodeExecutionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
@@ -19,10 +17,15 @@ public class NodeExecutionController {
     private final NodeExecutionService nodeExecutionService;
 
     @GetMapping
-    public ResponseEntity<List<NodeExecutionDto>> getAll(@RequestParam(required = false) Long graphExecutionId) {
+    public ResponseEntity<List<NodeExecutionSummaryDto>> getAll(@RequestParam(required = false) Long graphExecutionId) {
         if (graphExecutionId != null) {
             return ResponseEntity.ok(nodeExecutionService.findByGraphExecutionId(graphExecutionId));
         }
         return ResponseEntity.ok(nodeExecutionService.findAll());
     }
+
+    @GetMapping("/{id}/payload")
+    public ResponseEntity<NodeExecutionPayloadDto> getPayload(@PathVariable Long id) {
+        return ResponseEntity.ok(nodeExecutionService.findPayload(id));
+    }
 }
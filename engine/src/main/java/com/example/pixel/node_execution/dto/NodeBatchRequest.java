@@ -0,0 +1,18 @@
+package com.example.pixel.node_execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Independent nodes sent to the node service in one request. None of them references
+ * another node of the same request, so the node service may run them in any order.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class NodeBatchRequest {
+    private List<NodeClientData> nodes;
+}
@@ -0,0 +1,14 @@
+package com.example.pixel.node_execution.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Results of a batched request, one per node in request order. A node that failed has
+ * its {@code error} set instead of outputs; the other results are unaffected.
+ */
+@Data
+public class NodeBatchResponse {
+    private List<NodeExecutionResponse> results;
+}
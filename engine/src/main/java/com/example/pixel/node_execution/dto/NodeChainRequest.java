@@ -0,0 +1,19 @@
+package com.example.pixel.node_execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * A fused chain sent to the node service in one request. Inputs that reference an earlier
+ * node of the chain are passed as their {@code @node:<id>:<output>} string and resolved
+ * by the node service.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class NodeChainRequest {
+    private List<NodeClientData> nodes;
+}
@@ -0,0 +1,19 @@
+package com.example.pixel.node_execution.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Results of a fused chain, one per node in chain order. When a node fails the chain
+ * stops there: {@code results} holds the nodes before it and {@code nodeId} names it.
+ */
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class NodeChainResponse {
+    private List<NodeExecutionResponse> results;
+    private String error;
+    private Long nodeId;
+}
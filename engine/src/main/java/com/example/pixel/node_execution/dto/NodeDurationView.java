@@ -0,0 +1,7 @@
+package com.example.pixel.node_execution.dto;
+
+public interface NodeDurationView {
+    String getNodeType();
+    Double getAverageMillis();
+    Long getExecutions();
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -19,6 +20,8 @@ public class NodeExecutionDto {
     private NodeStatus status;
     private Map<String, Object> inputs;
     private Map<String, Object> outputs;
+    private Integer attempts;
+    private List<String> attemptErrors;
     private Instant startedAt;
     private Instant finishedAt;
     private String errorMessage;
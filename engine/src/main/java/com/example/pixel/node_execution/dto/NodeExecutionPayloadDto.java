@@ -0,0 +1,18 @@
+package com.example.pixel.node_execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeExecutionPayloadDto {
+    private Long id;
+    private Map<String, Object> inputs;
+    private Map<String, Object> outputs;
+    private List<String> attemptErrors;
+}
@@ -0,0 +1,26 @@
+package com.example.pixel.node_execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A node execution without its inputs, outputs and attempt errors, which are fetched
+ * separately as a {@link NodeExecutionPayloadDto}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeExecutionSummaryDto {
+    private Long id;
+    private Long graphExecutionId;
+    private Long nodeId;
+    private String nodeType;
+    private NodeStatus status;
+    private Integer attempts;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String errorMessage;
+}
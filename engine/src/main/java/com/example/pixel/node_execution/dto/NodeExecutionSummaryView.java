@@ -0,0 +1,15 @@
+package com.example.pixel.node_execution.dto;
+
+import java.time.Instant;
+
+public interface NodeExecutionSummaryView {
+    Long getId();
+    Long getGraphExecutionId();
+    Long getNodeId();
+    String getNodeType();
+    NodeStatus getStatus();
+    Integer getAttempts();
+    Instant getStartedAt();
+    Instant getFinishedAt();
+    String getErrorMessage();
+}
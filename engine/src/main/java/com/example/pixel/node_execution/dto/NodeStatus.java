@@ -1,5 +1,5 @@
 package com.example.pixel.node_execution.dto;
 
 public enum NodeStatus {
-    PENDING, RUNNING, COMPLETED, FAILED
+    PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
 }
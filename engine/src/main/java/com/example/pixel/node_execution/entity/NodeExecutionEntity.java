@@ -1,15 +1,19 @@
 package com.example.pixel.node_execution.entity;
 
 import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.service.NodeExecutionJournal;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcType;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.jdbc.TimestampUtcAsJdbcTimestampJdbcType;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @Entity
@@ -17,11 +21,16 @@ import java.util.Map;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class NodeExecutionEntity {
 
+    /**
+     * Assigned by {@link NodeExecutionJournal} from blocks of the sequence, which is why
+     * the generator uses the {@code pooled-lo} optimizer configured in application.yml.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "node_executions_id_seq")
+    @SequenceGenerator(name = "node_executions_id_seq", sequenceName = "node_executions_id_seq", allocationSize = NodeExecutionJournal.ID_BLOCK_SIZE)
     private Long id;
 
     private Long graphExecutionId;
@@ -43,8 +52,24 @@ public class NodeExecutionEntity {
     @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> outputs;
 
+    private Integer attempts;
+
+    @Column(columnDefinition = "json")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<String> attemptErrors;
+
+    /**
+     * Stored as UTC wall-clock time in a plain {@code TIMESTAMP} column, whatever the JVM
+     * or session time zone; {@link NodeExecutionJournal} binds them the same way.
+     */
+    @Column(columnDefinition = "timestamp")
+    @JdbcType(TimestampUtcAsJdbcTimestampJdbcType.class)
     private Instant startedAt;
+
+    @Column(columnDefinition = "timestamp")
+    @JdbcType(TimestampUtcAsJdbcTimestampJdbcType.class)
     private Instant finishedAt;
+
     private String errorMessage;
 }
 
@@ -1,6 +1,7 @@
 package com.example.pixel.node_execution.executor;
 
 import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.CancellationRegistry;
 import com.example.pixel.node_execution.dto.NodeExecutionDto;
 import com.example.pixel.node_execution.model.Node;
 import com.example.pixel.node_execution.dto.NodeClientData;
@@ -9,7 +10,9 @@ import com.example.pixel.node_execution.entity.NodeExecutionEntity;
 import com.example.pixel.node_execution.service.NodeExecutionService;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RequiredArgsConstructor
 public class AsyncNodeExecutor implements NodeExecutor {
@@ -17,27 +20,45 @@ public class AsyncNodeExecutor implements NodeExecutor {
     private static final String NODE_EXECUTION_FAILED_MESSAGE = "Node execution for node with id %s failed: %s";
 
     private final NodeExecutionService nodeExecutionService;
+    private final CancellationRegistry cancellationRegistry;
+    private final Executor nodeTaskExecutor;
 
     public CompletableFuture<NodeExecutionDto> launchExecution(Node node, Long graphExecutionId) {
-        return CompletableFuture.supplyAsync(() -> execute(node, graphExecutionId));
+        Optional<NodeExecutionDto> checkpoint = nodeExecutionService.findCheckpoint(node, graphExecutionId);
+        if (checkpoint.isPresent()) {
+            return CompletableFuture.completedFuture(checkpoint.get());
+        }
+        if (cancellationRegistry.isCancelled(graphExecutionId)) {
+            return CompletableFuture.failedFuture(cancellationRegistry.cancelledException(graphExecutionId));
+        }
+        return CompletableFuture.supplyAsync(() -> execute(node, graphExecutionId), nodeTaskExecutor);
     }
 
     public NodeExecutionDto execute(Node node, Long graphExecutionId) {
-        NodeExecutionEntity nodeExecutionEntity = nodeExecutionService.create(node, graphExecutionId);
+        try (CancellationRegistry.Registration ignored = cancellationRegistry.enter(graphExecutionId)) {
+            NodeExecutionEntity nodeExecutionEntity = nodeExecutionService.create(node, graphExecutionId);
+            Node executed = node;
 
-        try {
-            NodeClientData data = nodeExecutionService.setup(node, graphExecutionId);
-            nodeExecutionService.validate(data);
-            NodeExecutionResponse nodeExecutionResponse = nodeExecutionService.execute(data);
+            try {
+                NodeClientData data = nodeExecutionService.setup(node, graphExecutionId);
+                executed = node.withInputs(data.getInputs());
+                NodeExecutionResponse nodeExecutionResponse = nodeExecutionService.executeOrReuse(nodeExecutionEntity.getId(), data);
 
-            nodeExecutionService.complete(nodeExecutionEntity.getId(), node, nodeExecutionResponse);
+                nodeExecutionService.complete(nodeExecutionEntity.getId(), executed, nodeExecutionResponse);
 
-            return nodeExecutionService.findById(nodeExecutionEntity.getId());
-        } catch (Exception e) {
-            nodeExecutionService.failed(nodeExecutionEntity.getId(), node, e.getMessage());
-            throw new NodeExecutionException(
-                    String.format(NODE_EXECUTION_FAILED_MESSAGE, node.getId(), e.getMessage()), e
-            );
+                return nodeExecutionService.findById(nodeExecutionEntity.getId());
+            } catch (Exception e) {
+                if (cancellationRegistry.isCancelled(graphExecutionId)) {
+                    // Clear the interrupt that aborted the node call, or the JDBC write below fails too
+                    Thread.interrupted();
+                    nodeExecutionService.cancelled(nodeExecutionEntity.getId(), executed);
+                    throw cancellationRegistry.cancelledException(graphExecutionId);
+                }
+                nodeExecutionService.failed(nodeExecutionEntity.getId(), executed, e.getMessage());
+                throw new NodeExecutionException(
+                        String.format(NODE_EXECUTION_FAILED_MESSAGE, node.getId(), e.getMessage()), e
+                );
+            }
         }
     }
 }
@@ -0,0 +1,134 @@
+package com.example.pixel.node_execution.executor;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a set of independent nodes, such as one level of a graph, with one node-service
+ * request per {@code maxNodesPerRequest} nodes instead of a validate and an execute call
+ * per node. Every node is still recorded as its own node execution and gets its own
+ * future, so a failing node fails only itself.
+ */
+@RequiredArgsConstructor
+public class BatchNodeExecutor {
+
+    private static final String NODE_EXECUTION_FAILED_MESSAGE = "Node execution for node with id %s failed: %s";
+
+    private final NodeExecutionService nodeExecutionService;
+    private final CancellationRegistry cancellationRegistry;
+    private final Executor nodeTaskExecutor;
+    private final int maxNodesPerRequest;
+
+    /**
+     * Launches the nodes, none of which may reference another one of them. The returned
+     * futures are in the order of {@code nodes}. Nodes already completed in an earlier run
+     * of the execution are reused and left out of the request.
+     */
+    public List<CompletableFuture<NodeExecutionDto>> launchAll(List<Node> nodes, Long graphExecutionId) {
+        List<CompletableFuture<NodeExecutionDto>> futures = new ArrayList<>();
+        List<Node> pending = new ArrayList<>();
+        List<CompletableFuture<NodeExecutionDto>> pendingFutures = new ArrayList<>();
+        for (Node node : nodes) {
+            Optional<NodeExecutionDto> checkpoint = nodeExecutionService.findCheckpoint(node, graphExecutionId);
+            if (checkpoint.isPresent()) {
+                futures.add(CompletableFuture.completedFuture(checkpoint.get()));
+            } else if (cancellationRegistry.isCancelled(graphExecutionId)) {
+                futures.add(CompletableFuture.failedFuture(cancellationRegistry.cancelledException(graphExecutionId)));
+            } else {
+                CompletableFuture<NodeExecutionDto> future = new CompletableFuture<>();
+                futures.add(future);
+                pending.add(node);
+                pendingFutures.add(future);
+            }
+        }
+
+        int requestSize = Math.max(1, maxNodesPerRequest);
+        for (int from = 0; from < pending.size(); from += requestSize) {
+            int to = Math.min(from + requestSize, pending.size());
+            List<Node> chunk = pending.subList(from, to);
+            List<CompletableFuture<NodeExecutionDto>> chunkFutures = pendingFutures.subList(from, to);
+            try {
+                CompletableFuture.runAsync(() -> execute(chunk, chunkFutures, graphExecutionId), nodeTaskExecutor);
+            } catch (RuntimeException e) {
+                // The node task executor refused the request; no node of it was started
+                chunkFutures.forEach(future -> future.completeExceptionally(e));
+            }
+        }
+        return futures;
+    }
+
+    private void execute(List<Node> nodes, List<CompletableFuture<NodeExecutionDto>> futures, Long graphExecutionId) {
+        try (CancellationRegistry.Registration ignored = cancellationRegistry.enter(graphExecutionId)) {
+            List<Long> ids = new ArrayList<>();
+            List<Node> sent = new ArrayList<>();
+            List<CompletableFuture<NodeExecutionDto>> sentFutures = new ArrayList<>();
+            List<NodeClientData> requests = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                Long id = nodeExecutionService.create(node, graphExecutionId).getId();
+                NodeClientData data;
+                try {
+                    data = nodeExecutionService.setup(node, graphExecutionId);
+                } catch (Exception e) {
+                    // An input that cannot be resolved only fails its own node
+                    fail(id, node, futures.get(i), e.getMessage(), e);
+                    continue;
+                }
+                requests.add(data);
+                ids.add(id);
+                sent.add(node.withInputs(data.getInputs()));
+                sentFutures.add(futures.get(i));
+            }
+            if (sent.isEmpty()) return;
+
+            List<NodeExecutionResponse> responses;
+            try {
+                responses = nodeExecutionService.executeAll(ids, requests);
+            } catch (Exception e) {
+                if (cancellationRegistry.isCancelled(graphExecutionId)) {
+                    // Clear the interrupt that aborted the batch call, or the JDBC writes below fail too
+                    Thread.interrupted();
+                    for (int i = 0; i < sent.size(); i++) {
+                        nodeExecutionService.cancelled(ids.get(i), sent.get(i));
+                        sentFutures.get(i).completeExceptionally(cancellationRegistry.cancelledException(graphExecutionId));
+                    }
+                    return;
+                }
+                for (int i = 0; i < sent.size(); i++) {
+                    fail(ids.get(i), sent.get(i), sentFutures.get(i), e.getMessage(), e);
+                }
+                return;
+            }
+
+            for (int i = 0; i < sent.size(); i++) {
+                NodeExecutionResponse response = responses.get(i);
+                if (response.getError() != null) {
+                    fail(ids.get(i), sent.get(i), sentFutures.get(i), response.getError(), null);
+                    continue;
+                }
+                nodeExecutionService.complete(ids.get(i), sent.get(i), response);
+                sentFutures.get(i).complete(nodeExecutionService.findById(ids.get(i)));
+            }
+        } catch (RuntimeException e) {
+            // Anything left unanswered, e.g. after a failed database write, fails with the cause
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void fail(Long id, Node node, CompletableFuture<NodeExecutionDto> future, String message, Exception cause) {
+        nodeExecutionService.failed(id, node, message);
+        future.completeExceptionally(new NodeExecutionException(
+                String.format(NODE_EXECUTION_FAILED_MESSAGE, node.getId(), message), cause
+        ));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.pixel.node_execution.executor;
+
+import com.example.pixel.common.exception.NodeExecutionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many node invocations are accepted at once (running plus waiting for a
+ * thread). Once the cap is reached the submitting graph thread either blocks until a
+ * node finishes, or the submission is put back and retried with exponential back-off
+ * while the graph thread moves on. Either way a saturated executor delays nodes but
+ * never fails them; deferred submissions show up in the
+ * {@code pixel.node.executor.deferred} metrics. Node throughput is therefore bounded by
+ * what the node service can absorb rather than by how many tasks the engine can enqueue.
+ */
+@Slf4j
+public class BoundedNodeTaskExecutor implements Executor {
+
+    private static final String INTERRUPTED_MESSAGE = "Interrupted while waiting for a free node executor slot";
+
+    public enum RejectionPolicy {
+        BLOCK, BACK_OFF;
+
+        public static RejectionPolicy fromProperty(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private final Executor delegate;
+    private final RejectionPolicy rejectionPolicy;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ScheduledExecutorService retryScheduler;
+    private final Counter deferred;
+    private final Counter blocked;
+
+    public BoundedNodeTaskExecutor(
+            Executor delegate,
+            int capacity,
+            RejectionPolicy rejectionPolicy,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.rejectionPolicy = rejectionPolicy;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.permits = new Semaphore(capacity);
+        this.retryScheduler = rejectionPolicy == RejectionPolicy.BACK_OFF
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("NodeBackoff").daemon().factory())
+                : null;
+
+        Gauge.builder("pixel.node.executor.in_flight", permits, p -> capacity - p.availablePermits())
+                .description("Node invocations accepted and not yet finished")
+                .register(meterRegistry);
+        Gauge.builder("pixel.node.executor.deferred.waiting", waiting, AtomicInteger::get)
+                .description("Deferred node invocations still waiting for a free slot")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("pixel.node.executor.deferred")
+                .description("Node invocations put back for a retry because the executor was saturated")
+                .register(meterRegistry);
+        this.blocked = Counter.builder("pixel.node.executor.blocked")
+                .description("Submissions that had to wait for a free slot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (permits.tryAcquire()) {
+            dispatch(task);
+            return;
+        }
+
+        if (rejectionPolicy == RejectionPolicy.BACK_OFF) {
+            deferred.increment();
+            waiting.incrementAndGet();
+            retryLater(task, initialBackoff);
+            return;
+        }
+
+        blocked.increment();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NodeExecutionRejectedException(INTERRUPTED_MESSAGE, e);
+        }
+        dispatch(task);
+    }
+
+    private void retryLater(Runnable task, Duration backoff) {
+        retryScheduler.schedule(() -> {
+            if (!permits.tryAcquire()) {
+                Duration next = backoff.multipliedBy(2);
+                retryLater(task, next.compareTo(maxBackoff) > 0 ? maxBackoff : next);
+                return;
+            }
+            waiting.decrementAndGet();
+            try {
+                dispatch(task);
+            } catch (RejectedExecutionException e) {
+                // Only a delegate that is shutting down refuses a submission that holds a permit
+                log.error("Deferred node invocation dropped, the node executor is shut down", e);
+            }
+        }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.pixel.node_execution.executor;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.NodeChainResponse;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a chain of single-consumer nodes in one round trip to the node service, instead
+ * of a validate and an execute call per node. Every node of the chain is still recorded
+ * as its own node execution and publishes its inputs and outputs to the cache, so
+ * dependents outside the chain and resumed executions cannot tell the difference.
+ */
+@RequiredArgsConstructor
+public class FusedChainExecutor {
+
+    private static final String NODE_EXECUTION_FAILED_MESSAGE = "Node execution for node with id %s failed: %s";
+    private static final String CHAIN_STOPPED_MESSAGE = "Fused chain stopped at node %s: %s";
+
+    private final NodeExecutionService nodeExecutionService;
+    private final CancellationRegistry cancellationRegistry;
+    private final Executor nodeTaskExecutor;
+
+    /**
+     * Executes the chain, where every node after the first consumes an output of an
+     * earlier one. Nodes already completed in an earlier run of the execution are reused,
+     * and the fused request starts at the first one that is not.
+     */
+    public CompletableFuture<List<NodeExecutionDto>> launchChain(List<Node> nodes, Long graphExecutionId) {
+        List<NodeExecutionDto> restored = new ArrayList<>();
+        int first = 0;
+        while (first < nodes.size()) {
+            Optional<NodeExecutionDto> checkpoint = nodeExecutionService.findCheckpoint(nodes.get(first), graphExecutionId);
+            if (checkpoint.isEmpty()) break;
+            restored.add(checkpoint.get());
+            first++;
+        }
+        if (first == nodes.size()) {
+            return CompletableFuture.completedFuture(restored);
+        }
+        if (cancellationRegistry.isCancelled(graphExecutionId)) {
+            return CompletableFuture.failedFuture(cancellationRegistry.cancelledException(graphExecutionId));
+        }
+
+        List<Node> remaining = nodes.subList(first, nodes.size());
+        return CompletableFuture.supplyAsync(() -> execute(remaining, graphExecutionId, restored), nodeTaskExecutor);
+    }
+
+    private List<NodeExecutionDto> execute(List<Node> nodes, Long graphExecutionId, List<NodeExecutionDto> restored) {
+        try (CancellationRegistry.Registration ignored = cancellationRegistry.enter(graphExecutionId)) {
+            Set<Long> chainIds = new HashSet<>();
+            List<Long> ids = new ArrayList<>();
+            for (Node node : nodes) {
+                chainIds.add(node.getId());
+                ids.add(nodeExecutionService.create(node, graphExecutionId).getId());
+            }
+
+            NodeChainResponse response;
+            List<NodeClientData> setups = new ArrayList<>();
+            try {
+                List<NodeClientData> requests = new ArrayList<>();
+                for (Node node : nodes) {
+                    Set<String> internal = internalInputs(node, chainIds);
+                    NodeClientData data = nodeExecutionService.setup(node, graphExecutionId, internal);
+                    setups.add(data);
+
+                    Map<String, Object> inputs = new HashMap<>(data.getInputs());
+                    internal.forEach(key -> inputs.put(key, inputs.get(key).toString()));
+                    requests.add(new NodeClientData(data.getMeta(), inputs));
+                }
+                response = nodeExecutionService.executeChain(ids, requests);
+            } catch (Exception e) {
+                if (cancellationRegistry.isCancelled(graphExecutionId)) {
+                    // Clear the interrupt that aborted the chain call, or the JDBC writes below fail too
+                    Thread.interrupted();
+                    for (int i = 0; i < nodes.size(); i++) {
+                        nodeExecutionService.cancelled(ids.get(i), nodes.get(i));
+                    }
+                    throw cancellationRegistry.cancelledException(graphExecutionId);
+                }
+                for (int i = 0; i < nodes.size(); i++) {
+                    nodeExecutionService.failed(ids.get(i), nodes.get(i), e.getMessage());
+                }
+                throw new NodeExecutionException(
+                        String.format(NODE_EXECUTION_FAILED_MESSAGE, nodes.getFirst().getId(), e.getMessage()), e
+                );
+            }
+
+            List<NodeExecutionResponse> results = response.getResults() != null ? response.getResults() : List.of();
+            Map<Long, Map<String, Object>> outputsByNode = new HashMap<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                if (i < results.size()) {
+                    Map<String, Object> outputs = results.get(i).getOutputs() != null ? results.get(i).getOutputs() : Map.of();
+                    Map<String, Object> inputs = resolveInternal(setups.get(i).getInputs(), chainIds, outputsByNode);
+
+                    nodeExecutionService.publish(new NodeClientData(setups.get(i).getMeta(), inputs), outputs);
+                    nodeExecutionService.complete(ids.get(i), node.withInputs(inputs), results.get(i));
+                    outputsByNode.put(node.getId(), outputs);
+                } else if (i == results.size() && response.getError() != null) {
+                    nodeExecutionService.failed(ids.get(i), node, response.getError());
+                } else {
+                    nodeExecutionService.failed(ids.get(i), node,
+                            String.format(CHAIN_STOPPED_MESSAGE, response.getNodeId(), response.getError()));
+                }
+            }
+
+            if (results.size() < nodes.size()) {
+                throw new NodeExecutionException(
+                        String.format(NODE_EXECUTION_FAILED_MESSAGE, response.getNodeId(), response.getError())
+                );
+            }
+
+            List<NodeExecutionDto> executions = new ArrayList<>(restored);
+            for (Long id : ids) {
+                executions.add(nodeExecutionService.findById(id));
+            }
+            return executions;
+        }
+    }
+
+    private Set<String> internalInputs(Node node, Set<Long> chainIds) {
+        Set<String> internal = new HashSet<>();
+        node.getInputs().forEach((key, value) -> {
+            if (value instanceof NodeReference reference && chainIds.contains(reference.getNodeId())) {
+                internal.add(key);
+            }
+        });
+        return internal;
+    }
+
+    private Map<String, Object> resolveInternal(
+            Map<String, Object> inputs,
+            Set<Long> chainIds,
+            Map<Long, Map<String, Object>> outputsByNode
+    ) {
+        Map<String, Object> resolved = new HashMap<>(inputs);
+        inputs.forEach((key, value) -> {
+            if (value instanceof NodeReference reference && chainIds.contains(reference.getNodeId())) {
+                resolved.put(key, outputsByNode.get(reference.getNodeId()).get(reference.getOutputName()));
+            }
+        });
+        return resolved;
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.pixel.node_execution.executor;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
+import com.example.pixel.node_execution.service.NodeExecutionPolicyResolver;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a chain of split nodes as a pipeline. The first stage's split input is cut into
+ * micro-batches and every batch a stage finishes is handed straight to the next stage,
+ * so successive stages overlap and the chain takes about as long as its slowest stage
+ * instead of the sum of all of them. The hand-off queues between stages are bounded,
+ * which caps how many batches of intermediate files exist at once.
+ * <p>
+ * Each stage is recorded as one node execution. Once a stage has seen every batch its
+ * outputs are merged and published, so dependents outside the chain resolve them like
+ * those of any other node. The first stage runs on the launching node task. Every further
+ * stage runs on the stage executor: upstream blocks until they take its batches, so they
+ * must not queue for node task slots behind it.
+ */
+@Slf4j
+public class StreamingPipelineExecutor {
+
+    private static final String NOT_SPLITTABLE_MESSAGE = "Node type %s does not declare a split input";
+    private static final String NOT_A_LIST_MESSAGE = "Value of '%s' for node with id %s is not a list";
+    private static final String STAGE_FAILED_MESSAGE = "Node execution for node with id %s failed: %s";
+    private static final String PIPELINE_STOPPED_MESSAGE = "Pipeline stopped before all batches were processed: %s";
+    private static final long POLL_MS = 50;
+
+    private final NodeExecutionService nodeExecutionService;
+    private final NodeExecutionPolicyResolver nodeExecutionPolicyResolver;
+    private final CancellationRegistry cancellationRegistry;
+    private final Executor nodeTaskExecutor;
+    private final Executor stageTaskExecutor;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+
+    public StreamingPipelineExecutor(
+            NodeExecutionService nodeExecutionService,
+            NodeExecutionPolicyResolver nodeExecutionPolicyResolver,
+            CancellationRegistry cancellationRegistry,
+            Executor nodeTaskExecutor,
+            Executor stageTaskExecutor,
+            int batchSize,
+            int maxInFlightBatches
+    ) {
+        this.nodeExecutionService = nodeExecutionService;
+        this.nodeExecutionPolicyResolver = nodeExecutionPolicyResolver;
+        this.cancellationRegistry = cancellationRegistry;
+        this.nodeTaskExecutor = nodeTaskExecutor;
+        this.stageTaskExecutor = stageTaskExecutor;
+        this.batchSize = batchSize;
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    public Optional<NodeSplitSpec> splitSpec(String type) {
+        return nodeExecutionPolicyResolver.resolveSplit(type);
+    }
+
+    /**
+     * Executes the chain, where every stage's split input references an output of the
+     * stage before it. Stages already completed in an earlier run of the execution are
+     * reused, and the pipeline starts at the first one that is not.
+     */
+    public CompletableFuture<List<NodeExecutionDto>> launchPipeline(List<Node> nodes, Long graphExecutionId) {
+        List<NodeExecutionDto> restored = new ArrayList<>();
+        int first = 0;
+        while (first < nodes.size()) {
+            Optional<NodeExecutionDto> checkpoint = nodeExecutionService.findCheckpoint(nodes.get(first), graphExecutionId);
+            if (checkpoint.isEmpty()) break;
+            restored.add(checkpoint.get());
+            first++;
+        }
+        if (first == nodes.size()) {
+            return CompletableFuture.completedFuture(restored);
+        }
+        if (cancellationRegistry.isCancelled(graphExecutionId)) {
+            return CompletableFuture.failedFuture(cancellationRegistry.cancelledException(graphExecutionId));
+        }
+
+        List<Node> remaining = nodes.subList(first, nodes.size());
+        return CompletableFuture.supplyAsync(() -> execute(remaining, graphExecutionId, restored), nodeTaskExecutor);
+    }
+
+    private List<NodeExecutionDto> execute(List<Node> nodes, Long graphExecutionId, List<NodeExecutionDto> restored) {
+        try (CancellationRegistry.Registration ignored = cancellationRegistry.enter(graphExecutionId)) {
+            List<Stage> stages = new ArrayList<>();
+            for (Node node : nodes) {
+                NodeSplitSpec spec = splitSpec(node.getType()).orElseThrow(
+                        () -> new NodeExecutionException(String.format(NOT_SPLITTABLE_MESSAGE, node.getType()))
+                );
+                Stage stage = new Stage(node, spec, nodeExecutionService.create(node, graphExecutionId).getId());
+                if (!stages.isEmpty()) {
+                    Stage previous = stages.getLast();
+                    previous.next = stage;
+                    previous.feedOutput = ((NodeReference) node.getInputs().get(spec.input())).getOutputName();
+                    stage.previous = previous;
+                }
+                stages.add(stage);
+            }
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<CompletableFuture<Void>> downstream = new ArrayList<>();
+            for (Stage stage : stages.subList(1, stages.size())) {
+                downstream.add(launchStage(stage, graphExecutionId, failure));
+            }
+            try {
+                runStage(stages.getFirst(), graphExecutionId, failure);
+            } finally {
+                stages.getFirst().finished = true;
+            }
+            CompletableFuture.allOf(downstream.toArray(new CompletableFuture[0])).join();
+
+            if (failure.get() != null) {
+                if (cancellationRegistry.isCancelled(graphExecutionId)) {
+                    throw cancellationRegistry.cancelledException(graphExecutionId);
+                }
+                throw failure.get() instanceof NodeExecutionException nodeExecutionException
+                        ? nodeExecutionException
+                        : new NodeExecutionException(failure.get().getMessage(), failure.get());
+            }
+
+            List<NodeExecutionDto> results = new ArrayList<>(restored);
+            for (Stage stage : stages) {
+                results.add(nodeExecutionService.findById(stage.id));
+            }
+            return results;
+        }
+    }
+
+    private CompletableFuture<Void> launchStage(Stage stage, Long graphExecutionId, AtomicReference<Throwable> failure) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try (CancellationRegistry.Registration ignored = cancellationRegistry.enter(graphExecutionId)) {
+                    runStage(stage, graphExecutionId, failure);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    stage.finished = true;
+                }
+            }, stageTaskExecutor);
+        } catch (RuntimeException e) {
+            // The stage executor refused the stage; upstream must not wait for it
+            failure.compareAndSet(null, e);
+            stage.finished = true;
+            finish(stage, graphExecutionId, failure);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void runStage(Stage stage, Long graphExecutionId, AtomicReference<Throwable> failure) {
+        boolean intact = true;
+        try {
+            if (stage.previous == null) {
+                stage.data = nodeExecutionService.setup(stage.node, graphExecutionId);
+                Object items = stage.data.getInputs().get(stage.spec.input());
+                for (List<Object> batch : stage.spec.partition(asList(items, stage.spec.input(), stage.node), batchSize)) {
+                    if (failure.get() != null) {
+                        intact = false;
+                        break;
+                    }
+                    intact &= process(stage, batch, failure);
+                }
+            } else {
+                stage.data = nodeExecutionService.setup(stage.node, graphExecutionId, Set.of(stage.spec.input()));
+                while (true) {
+                    List<?> batch = stage.inbound.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (batch == null) {
+                        if (stage.previous.finished && stage.inbound.isEmpty()) break;
+                        continue;
+                    }
+                    // Keep draining after a failure, so upstream never blocks on a full queue
+                    if (failure.get() != null) {
+                        intact = false;
+                        continue;
+                    }
+                    intact &= process(stage, batch, failure);
+                }
+                intact &= stage.previous.completed;
+            }
+        } catch (Exception e) {
+            intact = false;
+            stage.error = String.format(STAGE_FAILED_MESSAGE, stage.node.getId(), e.getMessage());
+            failure.compareAndSet(null, new NodeExecutionException(stage.error, e));
+        }
+
+        stage.completed = intact && failure.get() == null;
+        finish(stage, graphExecutionId, failure);
+    }
+
+    private boolean process(Stage stage, List<?> batch, AtomicReference<Throwable> failure) throws InterruptedException {
+        Map<String, Object> inputs = new HashMap<>(stage.data.getInputs());
+        inputs.put(stage.spec.input(), batch);
+
+        NodeExecutionResponse response;
+        try {
+            response = nodeExecutionService.executeBatch(stage.id, new NodeClientData(stage.data.getMeta(), inputs));
+        } catch (Exception e) {
+            stage.error = String.format(STAGE_FAILED_MESSAGE, stage.node.getId(), e.getMessage());
+            failure.compareAndSet(null, new NodeExecutionException(stage.error, e));
+            return false;
+        }
+
+        Map<String, Object> outputs = response.getOutputs() != null ? response.getOutputs() : Map.of();
+        stage.items.addAll(batch);
+        stage.outputs.add(outputs);
+
+        if (stage.next != null) {
+            List<Object> items = asList(outputs.get(stage.feedOutput), stage.feedOutput, stage.node);
+            while (!stage.next.inbound.offer(items, POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (stage.next.finished) break;
+            }
+        }
+        return true;
+    }
+
+    private void finish(Stage stage, Long graphExecutionId, AtomicReference<Throwable> failure) {
+        if (stage.completed) {
+            Map<String, Object> inputs = new HashMap<>(stage.data.getInputs());
+            inputs.put(stage.spec.input(), stage.items);
+            Map<String, Object> outputs = stage.spec.merge(stage.outputs);
+
+            NodeExecutionResponse response = new NodeExecutionResponse();
+            response.setOutputs(outputs);
+
+            nodeExecutionService.publish(new NodeClientData(stage.data.getMeta(), inputs), outputs);
+            nodeExecutionService.complete(stage.id, stage.node.withInputs(inputs), response);
+            log.info("Node {} Exec | Streamed {} items in {} batches", stage.node.getId(), stage.items.size(), stage.outputs.size());
+            return;
+        }
+
+        if (cancellationRegistry.isCancelled(graphExecutionId)) {
+            // Clear the interrupt that aborted the stage, or the JDBC write below fails too
+            Thread.interrupted();
+            nodeExecutionService.cancelled(stage.id, stage.node);
+            return;
+        }
+        String message = stage.error != null
+                ? stage.error
+                : String.format(PIPELINE_STOPPED_MESSAGE, failure.get() != null ? failure.get().getMessage() : null);
+        nodeExecutionService.failed(stage.id, stage.node, message);
+    }
+
+    private List<Object> asList(Object value, String name, Node node) {
+        if (!(value instanceof Collection<?> items)) {
+            throw new NodeExecutionException(String.format(NOT_A_LIST_MESSAGE, name, node.getId()));
+        }
+        return new ArrayList<>(items);
+    }
+
+    private final class Stage {
+        private final Node node;
+        private final NodeSplitSpec spec;
+        private final Long id;
+        private final BlockingQueue<List<?>> inbound = new ArrayBlockingQueue<>(Math.max(1, maxInFlightBatches));
+        private final List<Object> items = new ArrayList<>();
+        private final List<Map<String, Object>> outputs = new ArrayList<>();
+
+        private Stage previous;
+        private Stage next;
+        private String feedOutput;
+        private NodeClientData data;
+        private String error;
+        private volatile boolean completed;
+        private volatile boolean finished;
+
+        private Stage(Node node, NodeSplitSpec spec, Long id) {
+            this.node = node;
+            this.spec = spec;
+            this.id = id;
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.pixel.node_execution.mapper;
 
 import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeExecutionPayloadDto;
+import com.example.pixel.node_execution.dto.NodeExecutionSummaryDto;
+import com.example.pixel.node_execution.dto.NodeExecutionSummaryView;
 import com.example.pixel.node_execution.entity.NodeExecutionEntity;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface NodeExecutionMapper {
     NodeExecutionDto toDto(NodeExecutionEntity node);
+
+    NodeExecutionSummaryDto toSummaryDto(NodeExecutionSummaryView node);
+
+    NodeExecutionPayloadDto toPayloadDto(NodeExecutionEntity node);
 }
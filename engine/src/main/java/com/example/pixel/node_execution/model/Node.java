@@ -11,4 +11,12 @@ public class Node {
     private Long id;
     private String type;
     private Map<String, Object> inputs;
+
+    /**
+     * Copy of this node with other inputs. Nodes of a compiled graph are shared between
+     * executions, so resolved inputs go on a copy instead of replacing the originals.
+     */
+    public Node withInputs(Map<String, Object> inputs) {
+        return new Node(id, type, inputs);
+    }
 }
\ No newline at end of file
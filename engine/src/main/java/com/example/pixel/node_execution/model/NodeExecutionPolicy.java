@@ -0,0 +1,15 @@
+package com.example.pixel.node_execution.model;
+
+import java.time.Duration;
+
+/**
+ * How one node type is invoked: the per-call timeout towards the node service and how
+ * many attempts a transient failure may use. Non-retryable node types always get a
+ * single attempt.
+ */
+public record NodeExecutionPolicy(Duration timeout, int maxAttempts, boolean retryable) {
+
+    public int attempts() {
+        return retryable ? Math.max(1, maxAttempts) : 1;
+    }
+}
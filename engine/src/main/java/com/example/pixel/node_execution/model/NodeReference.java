@@ -1,45 +1,69 @@
 package com.example.pixel.node_execution.model;
 
 import com.example.pixel.common.exception.InvalidNodeInputException;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * An {@code @node:<id>:<output>} input, parsed once when the graph is ingested. The node
+ * id is kept as a primitive and the output name is interned, so resolving a reference
+ * neither re-parses nor allocates, and the few distinct output names are shared.
+ */
 @Getter
-public class NodeReference {
-    private static final Pattern NODE_REF_PATTERN = Pattern.compile("@node:(\\d+):(\\w+)");
+public final class NodeReference {
+    private static final String PREFIX = "@node:";
     private static final String INVALID_NODE_REFERENCE_FORMAT_MESSAGE = "Invalid node reference format: ";
 
     private final String reference;
-    @JsonIgnore
-    private Matcher matcher;
+    private final long nodeId;
+    private final String outputName;
 
     public NodeReference(String reference) {
         this.reference = reference;
-        this.matcher = NODE_REF_PATTERN.matcher(reference);
 
-        if (!matcher.matches()) {
+        // Same grammar as @node:(\d+):(\w+), without running a regex per reference
+        int separator = reference.indexOf(':', PREFIX.length());
+        if (!reference.startsWith(PREFIX)
+                || !isDigits(reference, PREFIX.length(), separator)
+                || !isWord(reference, separator + 1, reference.length())) {
             throw new InvalidNodeInputException(INVALID_NODE_REFERENCE_FORMAT_MESSAGE + reference);
         }
-    }
 
-    public Long getNodeId() {
-        return Long.parseLong(getMatcherGroup(1));
+        try {
+            this.nodeId = Long.parseLong(reference, PREFIX.length(), separator, 10);
+        } catch (NumberFormatException e) {
+            throw new InvalidNodeInputException(INVALID_NODE_REFERENCE_FORMAT_MESSAGE + reference);
+        }
+        this.outputName = reference.substring(separator + 1).intern();
     }
 
-    public String getOutputName() {
-        return getMatcherGroup(2);
+    private static boolean isDigits(String value, int from, int to) {
+        if (to <= from) return false;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
     }
 
-    private String getMatcherGroup(int group) {
-        if (matcher == null || !matcher.matches()) {
-            matcher = NODE_REF_PATTERN.matcher(reference);
-            if (!matcher.matches()) {
-                throw new InvalidNodeInputException(INVALID_NODE_REFERENCE_FORMAT_MESSAGE + reference);
-            }
+    private static boolean isWord(String value, int from, int to) {
+        if (to <= from) return false;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '_') return false;
         }
-        return matcher.group(group);
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof NodeReference that
+                && nodeId == that.nodeId
+                && outputName.equals(that.outputName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(nodeId) * 31 + outputName.hashCode();
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.example.pixel.node_execution.model;
+
+import java.util.*;
+
+/**
+ * How the work of one node type divides over items: the list-typed input that may be cut
+ * into batches processed independently, and the list-typed outputs whose per-batch values
+ * are concatenated back in batch order. Outputs not listed keep the last batch's value.
+ */
+public record NodeSplitSpec(String input, List<String> outputs) {
+
+    /**
+     * Consecutive batches of at most {@code batchSize} items. An empty list still yields
+     * one empty batch, so the node runs once and reports its outputs.
+     */
+    public List<List<Object>> partition(Collection<?> items, int batchSize) {
+        List<Object> all = new ArrayList<>(items);
+        if (all.isEmpty()) return List.of(List.of());
+
+        int size = Math.max(1, batchSize);
+        List<List<Object>> batches = new ArrayList<>((all.size() + size - 1) / size);
+        for (int from = 0; from < all.size(); from += size) {
+            batches.add(all.subList(from, Math.min(from + size, all.size())));
+        }
+        return batches;
+    }
+
+    public Map<String, Object> merge(List<Map<String, Object>> batchOutputs) {
+        Map<String, Object> merged = new HashMap<>();
+        Map<String, List<Object>> concatenated = new HashMap<>();
+        for (Map<String, Object> outputs : batchOutputs) {
+            if (outputs == null) continue;
+            outputs.forEach((name, value) -> {
+                if (this.outputs.contains(name) && value instanceof Collection<?> items) {
+                    concatenated.computeIfAbsent(name, key -> new ArrayList<>()).addAll(items);
+                } else {
+                    merged.put(name, value);
+                }
+            });
+        }
+        merged.putAll(concatenated);
+        return merged;
+    }
+}
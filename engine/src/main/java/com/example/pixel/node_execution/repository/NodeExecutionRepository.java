@@ -1,10 +1,42 @@
 package com.example.pixel.node_execution.repository;
 
+import com.example.pixel.node_execution.dto.NodeDurationView;
+import com.example.pixel.node_execution.dto.NodeExecutionSummaryView;
+import com.example.pixel.node_execution.dto.NodeStatus;
 import com.example.pixel.node_execution.entity.NodeExecutionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface NodeExecutionRepository extends JpaRepository<NodeExecutionEntity, Long> {
-    List<NodeExecutionEntity> findByGraphExecutionId(Long graphExecutionId);
+    String SUMMARY_COLUMNS = "n.id AS id, n.graphExecutionId AS graphExecutionId, n.nodeId AS nodeId, " +
+            "n.nodeType AS nodeType, n.status AS status, n.attempts AS attempts, n.startedAt AS startedAt, " +
+            "n.finishedAt AS finishedAt, n.errorMessage AS errorMessage";
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM NodeExecutionEntity n ORDER BY n.id")
+    List<NodeExecutionSummaryView> findAllSummaries();
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM NodeExecutionEntity n " +
+            "WHERE n.graphExecutionId = :graphExecutionId ORDER BY n.id")
+    List<NodeExecutionSummaryView> findSummariesByGraphExecutionId(Long graphExecutionId);
+
+    List<NodeExecutionEntity> findByGraphExecutionIdAndStatus(Long graphExecutionId, NodeStatus status);
+
+    Optional<NodeExecutionEntity> findFirstByGraphExecutionIdAndNodeIdAndStatusOrderByIdDesc(
+            Long graphExecutionId, Long nodeId, NodeStatus status
+    );
+
+    /**
+     * Average run time per node type, aggregated in the database. Native, as JPQL has no
+     * portable way to take the difference of two timestamps. {@code since} is UTC
+     * wall-clock time, as the columns hold.
+     */
+    @Query(value = "SELECT node_type AS nodeType, " +
+            "AVG(EXTRACT(EPOCH FROM (finished_at - started_at)) * 1000) AS averageMillis, COUNT(*) AS executions " +
+            "FROM node_executions WHERE status = :status AND finished_at >= :since AND started_at IS NOT NULL " +
+            "GROUP BY node_type", nativeQuery = true)
+    List<NodeDurationView> findAverageDurationsByStatusFinishedSince(String status, LocalDateTime since);
 }
@@ -0,0 +1,100 @@
+package com.example.pixel.node_execution.service;
+
+import com.example.pixel.node_execution.model.NodeExecutionPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries node-service calls that failed for transient reasons: I/O errors (including
+ * timeouts) and 5xx responses. A 4xx is the node rejecting its inputs and is never
+ * retried, and neither is a call whose thread was interrupted by a cancellation.
+ * <p>
+ * Backoff is exponential with full jitter: attempt {@code n} waits a uniformly random
+ * time up to {@code min(max, initial * multiplier^(n-1))}, which spreads the retries of
+ * a level that failed together instead of hitting the node service in lockstep.
+ */
+@Slf4j
+@Service
+public class NodeCallRetrier {
+
+    private final MeterRegistry meterRegistry;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double multiplier;
+
+    public NodeCallRetrier(
+            MeterRegistry meterRegistry,
+            @Value("${execution.node.retry.initial-backoff-ms}") long initialBackoffMs,
+            @Value("${execution.node.retry.max-backoff-ms}") long maxBackoffMs,
+            @Value("${execution.node.retry.multiplier}") double multiplier
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.multiplier = multiplier;
+    }
+
+    @FunctionalInterface
+    public interface RetryListener {
+        void beforeRetry(int nextAttempt, RuntimeException failure);
+    }
+
+    public <T> T call(String type, NodeExecutionPolicy policy, RetryListener listener, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (isTimeout(e)) {
+                    counter("pixel.node.timeouts", type).increment();
+                }
+                if (attempt >= policy.attempts() || !isTransient(e) || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+
+                long delay = backoffMs(attempt);
+                log.warn("Node call for type {} failed on attempt {}/{}, retrying in {} ms: {}",
+                        type, attempt, policy.attempts(), delay, e.getMessage());
+                counter("pixel.node.retries", type).increment();
+                listener.beforeRetry(attempt + 1, e);
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    long backoffMs(int attempt) {
+        double ceiling = Math.min(maxBackoffMs, initialBackoffMs * Math.pow(multiplier, attempt - 1));
+        return (long) (ThreadLocalRandom.current().nextDouble() * ceiling);
+    }
+
+    private boolean isTransient(RuntimeException e) {
+        return e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+    }
+
+    private boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) return true;
+        }
+        return false;
+    }
+
+    private Counter counter(String name, String type) {
+        return Counter.builder(name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
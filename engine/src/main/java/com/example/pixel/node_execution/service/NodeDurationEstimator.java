@@ -0,0 +1,87 @@
+package com.example.pixel.node_execution.service;
+
+import com.example.pixel.node_execution.dto.NodeDurationView;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Average run time per node type, aggregated in the database from completed node
+ * executions and refreshed lazily so graph launches do not hit the database every time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class NodeDurationEstimator {
+
+    private static final double DEFAULT_DURATION_MS = 1.0;
+
+    private final NodeExecutionRepository nodeExecutionRepository;
+
+    @Value("${execution.graph.duration-estimates.lookback-hours}")
+    private int lookbackHours;
+
+    @Value("${execution.graph.duration-estimates.refresh-seconds}")
+    private int refreshSeconds;
+
+    private volatile Map<String, Double> averageDurations = Map.of();
+    private volatile Instant refreshedAt = Instant.EPOCH;
+
+    /**
+     * Returns the estimated duration in milliseconds for a node type. Types without
+     * history get the mean of all known types, so they are neither favoured nor starved.
+     */
+    public ToDoubleFunction<String> snapshot() {
+        refreshIfStale();
+
+        Map<String, Double> durations = averageDurations;
+        double fallback = durations.values().stream()
+                .mapToDouble(Double::doubleValue)
+                .average()
+                .orElse(DEFAULT_DURATION_MS);
+
+        return nodeType -> durations.getOrDefault(nodeType, fallback);
+    }
+
+    private void refreshIfStale() {
+        if (refreshedAt.plusSeconds(refreshSeconds).isAfter(Instant.now())) {
+            return;
+        }
+        synchronized (this) {
+            if (refreshedAt.plusSeconds(refreshSeconds).isAfter(Instant.now())) {
+                return;
+            }
+            averageDurations = loadAverageDurations();
+            refreshedAt = Instant.now();
+        }
+    }
+
+    private Map<String, Double> loadAverageDurations() {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.now().minus(Duration.ofHours(lookbackHours)), ZoneOffset.UTC);
+        List<NodeDurationView> durations = nodeExecutionRepository
+                .findAverageDurationsByStatusFinishedSince(NodeStatus.COMPLETED.name(), since);
+
+        Map<String, Double> result = new HashMap<>();
+        long executions = 0;
+        for (NodeDurationView duration : durations) {
+            if (duration.getAverageMillis() == null) continue;
+            result.put(duration.getNodeType(), Math.max(duration.getAverageMillis(), DEFAULT_DURATION_MS));
+            executions += duration.getExecutions();
+        }
+
+        log.debug("Refreshed node duration estimates for {} node types from {} executions", result.size(), executions);
+        return result;
+    }
+}
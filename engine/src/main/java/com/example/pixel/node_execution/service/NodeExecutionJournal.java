@@ -0,0 +1,452 @@
+package com.example.pixel.node_execution.service;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind store for node execution records. State transitions are applied to an
+ * in-memory copy of the row and written with JDBC batch inserts and updates once
+ * {@code batchSize} rows are dirty, every {@code execution.journal.flush-interval-ms},
+ * before any query that reads node executions back, and on shutdown. A node that starts
+ * and finishes between two flushes costs a single batched insert. Ids are taken from
+ * {@code node_executions_id_seq} in blocks of {@link #ID_BLOCK_SIZE}, so creating a
+ * record needs no round trip either.
+ * <p>
+ * Ordering: the transitions of one record are applied in call order and only its latest
+ * state is written. A record is inserted before it is ever updated, and flushes run one
+ * at a time, so an older state never overwrites a newer one. Each flush is one
+ * transaction; rows of different records carry no order within it.
+ * <p>
+ * Durability: a transition is durable once the flush that picked it up has committed.
+ * When the batch fails, its rows are written one by one so a single bad row does not hold
+ * back the others. Rows that still fail stay dirty for the next flush. A row that fails
+ * {@code execution.journal.max-write-attempts} flushes in a row is written once more as a
+ * FAILED record without its payload; should that fail too, the record stays buffered and
+ * is retried. A record is never dropped before it has been written. A crash loses at most the transitions of the last flush interval; recovery then finds
+ * those nodes without a completed record and runs them again.
+ * <p>
+ * Capacity: at most {@code execution.journal.max-buffered-records} records wait to be
+ * written; beyond those only flushed RUNNING records are held, one per node in flight.
+ * A caller that would exceed it flushes synchronously, and fails with a
+ * {@link NodeExecutionException} if the buffer is still full afterwards.
+ */
+@Slf4j
+@Service
+public class NodeExecutionJournal {
+
+    /**
+     * Must match the increment of {@code node_executions_id_seq}.
+     */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    private static final String SEQUENCE_NAME = "node_executions_id_seq";
+    private static final String NODE_EXECUTION_NOT_FOUND_MESSAGE = "Node execution not found: ";
+    private static final String JOURNAL_FULL_MESSAGE = "Node execution journal is full: %d records are waiting to be written";
+    private static final String UNWRITABLE_MESSAGE = "Node execution record could not be written: ";
+    private static final String INSERT_SQL = "INSERT INTO node_executions (id, graph_execution_id, node_id, node_type, status, "
+            + "inputs, outputs, attempts, attempt_errors, started_at, finished_at, error_message) "
+            + "VALUES (?, ?, ?, ?, ?, %1$s, %1$s, ?, %1$s, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE node_executions SET status = ?, inputs = %1$s, outputs = %1$s, "
+            + "attempts = ?, attempt_errors = %1$s, finished_at = ?, error_message = ? WHERE id = ?";
+    private static final int[] INSERT_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR
+    };
+    private static final int[] UPDATE_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.VARCHAR,
+            Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeExecutionRepository nodeExecutionRepository;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxBufferedRecords;
+    private final int maxWriteAttempts;
+    private final String nextBlockSql;
+    private final String insertSql;
+    private final String updateSql;
+
+    private final Map<Long, Entry> live = new HashMap<>();
+    private int dirty;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object idLock = new Object();
+    private long nextId;
+    private long blockEnd;
+
+    @Autowired
+    public NodeExecutionJournal(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NodeExecutionRepository nodeExecutionRepository,
+            ObjectMapper objectMapper,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${execution.journal.batch-size}") int batchSize,
+            @Value("${execution.journal.max-buffered-records}") int maxBufferedRecords,
+            @Value("${execution.journal.max-write-attempts}") int maxWriteAttempts
+    ) {
+        this(jdbcTemplate, transactionManager, nodeExecutionRepository, objectMapper,
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect(),
+                batchSize, maxBufferedRecords, maxWriteAttempts);
+    }
+
+    public NodeExecutionJournal(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NodeExecutionRepository nodeExecutionRepository,
+            ObjectMapper objectMapper,
+            Dialect dialect,
+            int batchSize,
+            int maxBufferedRecords,
+            int maxWriteAttempts
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeExecutionRepository = nodeExecutionRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxBufferedRecords = maxBufferedRecords;
+        this.maxWriteAttempts = maxWriteAttempts;
+
+        // H2 reads a bound string as a JSON string rather than parsing it unless told otherwise
+        String jsonParameter = dialect instanceof H2Dialect ? "? FORMAT JSON" : "CAST(? AS json)";
+        this.nextBlockSql = dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+        this.insertSql = String.format(INSERT_SQL, jsonParameter);
+        this.updateSql = String.format(UPDATE_SQL, jsonParameter);
+    }
+
+    /**
+     * Assigns the record an id and buffers its insert.
+     */
+    public NodeExecutionEntity create(NodeExecutionEntity nodeExecutionEntity) {
+        reserveCapacity();
+        nodeExecutionEntity.setId(allocateId());
+        synchronized (this) {
+            live.put(nodeExecutionEntity.getId(), new Entry(nodeExecutionEntity.toBuilder().build(), false));
+            dirty++;
+        }
+        flushIfFull();
+        return nodeExecutionEntity;
+    }
+
+    /**
+     * Applies a transition to the record. Records that are no longer held in memory are
+     * loaded from the database first.
+     */
+    public void update(Long id, Consumer<NodeExecutionEntity> transition) {
+        if (!apply(id, transition)) {
+            reserveCapacity();
+            NodeExecutionEntity stored = nodeExecutionRepository.findById(id)
+                    .orElseThrow(() -> new NodeExecutionException(NODE_EXECUTION_NOT_FOUND_MESSAGE + id));
+            synchronized (this) {
+                live.putIfAbsent(id, new Entry(stored, true));
+                apply(id, transition);
+            }
+        }
+        flushIfFull();
+    }
+
+    /**
+     * The latest state of a record that is still held in memory. Records that are not
+     * have been flushed and are read from the database.
+     */
+    public synchronized Optional<NodeExecutionEntity> find(Long id) {
+        Entry entry = live.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.state.toBuilder().build());
+    }
+
+    /**
+     * Writes every dirty record and waits for the write to commit. Must not be called
+     * from within a transaction: the write needs a connection of its own.
+     *
+     * @throws RuntimeException the last write failure, if any record is still dirty
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Pending> batch = snapshot();
+            if (batch.isEmpty()) return;
+
+            try {
+                write(batch);
+                acknowledge(batch);
+                log.debug("Node execution journal | Flushed {} records", batch.size());
+            } catch (RuntimeException e) {
+                if (batch.size() == 1) {
+                    if (!reject(batch.getFirst(), e)) throw e;
+                    return;
+                }
+                log.warn("Node execution journal | Batch of {} records failed, writing them one by one: {}",
+                        batch.size(), e.getMessage());
+                writeIndividually(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${execution.journal.flush-interval-ms}")
+    public void flushPeriodically() {
+        flushQuietly();
+    }
+
+    @PreDestroy
+    public void close() {
+        flushQuietly();
+    }
+
+    private synchronized boolean apply(Long id, Consumer<NodeExecutionEntity> transition) {
+        Entry entry = live.get(id);
+        if (entry == null) return false;
+
+        transition.accept(entry.state);
+        if (entry.revision == entry.flushedRevision) dirty++;
+        entry.revision++;
+        return true;
+    }
+
+    private void flushIfFull() {
+        boolean full;
+        synchronized (this) {
+            full = dirty >= batchSize;
+        }
+        // Only one caller pays for the flush; the others keep buffering meanwhile
+        if (full && flushLock.tryLock()) {
+            try {
+                flushQuietly();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private void writeIndividually(List<Pending> batch) {
+        RuntimeException failure = null;
+        for (Pending pending : batch) {
+            try {
+                write(List.of(pending));
+                acknowledge(List.of(pending));
+            } catch (RuntimeException e) {
+                if (!reject(pending, e)) failure = e;
+            }
+        }
+        // Rows recorded as failed are logged; anything still dirty is reported to the caller
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Counts a failed write of the row. Once it has failed {@code maxWriteAttempts} times,
+     * the node is written as FAILED without its payload instead, in a transaction of its
+     * own. Returns whether that write succeeded; otherwise the record stays dirty.
+     */
+    private boolean reject(Pending pending, RuntimeException failure) {
+        Entry entry = pending.entry();
+        int failedWrites;
+        synchronized (this) {
+            failedWrites = ++entry.failedWrites;
+        }
+        if (failedWrites < maxWriteAttempts) return false;
+
+        NodeExecutionEntity row = pending.row();
+        Pending failed = new Pending(entry, failedRow(row, failure), pending.insert(), pending.revision());
+        try {
+            write(List.of(failed));
+        } catch (RuntimeException e) {
+            log.error("Node execution journal | Node execution {} (graph execution {}, node {}) failed {} writes "
+                            + "and could not be recorded as failed either, keeping it buffered: {}",
+                    row.getId(), row.getGraphExecutionId(), row.getNodeId(), failedWrites, e.getMessage(), e);
+            return false;
+        }
+
+        log.error("Node execution journal | Node execution {} (graph execution {}, node {}, status {}) failed {} writes "
+                        + "and was recorded as FAILED without its payload: {}",
+                row.getId(), row.getGraphExecutionId(), row.getNodeId(), row.getStatus(), failedWrites,
+                failure.getMessage(), failure);
+        synchronized (this) {
+            if (entry.revision == pending.revision()) copyFailure(failed.row(), entry.state);
+            acknowledge(List.of(failed));
+        }
+        return true;
+    }
+
+    private static NodeExecutionEntity failedRow(NodeExecutionEntity row, RuntimeException failure) {
+        return row.toBuilder()
+                .status(NodeStatus.FAILED)
+                .inputs(null)
+                .outputs(null)
+                .attemptErrors(null)
+                .finishedAt(row.getFinishedAt() != null ? row.getFinishedAt() : Instant.now())
+                .errorMessage(UNWRITABLE_MESSAGE + failure.getMessage())
+                .build();
+    }
+
+    private static void copyFailure(NodeExecutionEntity failed, NodeExecutionEntity state) {
+        state.setStatus(failed.getStatus());
+        state.setInputs(null);
+        state.setOutputs(null);
+        state.setAttemptErrors(null);
+        state.setFinishedAt(failed.getFinishedAt());
+        state.setErrorMessage(failed.getErrorMessage());
+    }
+
+    /**
+     * Blocks on a flush while the buffer is full, and fails if that did not make room.
+     */
+    private void reserveCapacity() {
+        if (!isFull()) return;
+
+        flushLock.lock();
+        try {
+            if (isFull()) flushQuietly();
+        } finally {
+            flushLock.unlock();
+        }
+        if (isFull()) {
+            throw new NodeExecutionException(String.format(JOURNAL_FULL_MESSAGE, maxBufferedRecords));
+        }
+    }
+
+    private synchronized boolean isFull() {
+        return dirty >= maxBufferedRecords;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Node execution journal | Flush failed, records stay buffered: {}", e.getMessage(), e);
+        }
+    }
+
+    private long allocateId() {
+        synchronized (idLock) {
+            if (nextId == blockEnd) {
+                Long blockStart = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+                nextId = Objects.requireNonNull(blockStart);
+                blockEnd = blockStart + ID_BLOCK_SIZE;
+            }
+            return nextId++;
+        }
+    }
+
+    private synchronized List<Pending> snapshot() {
+        List<Pending> batch = new ArrayList<>();
+        for (Entry entry : live.values()) {
+            if (entry.revision != entry.flushedRevision) {
+                batch.add(new Pending(entry, entry.state.toBuilder().build(), !entry.inserted, entry.revision));
+            }
+        }
+        return batch;
+    }
+
+    private void write(List<Pending> batch) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Pending pending : batch) {
+            if (pending.insert()) {
+                inserts.add(insertArguments(pending.row()));
+            } else {
+                updates.add(updateArguments(pending.row()));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(insertSql, inserts, INSERT_TYPES);
+            if (!updates.isEmpty()) jdbcTemplate.batchUpdate(updateSql, updates, UPDATE_TYPES);
+        });
+    }
+
+    private synchronized void acknowledge(List<Pending> batch) {
+        for (Pending pending : batch) {
+            Entry entry = pending.entry();
+            entry.inserted = true;
+            entry.flushedRevision = pending.revision();
+            entry.failedWrites = 0;
+            if (entry.revision != pending.revision()) continue;
+
+            dirty--;
+            if (pending.row().getStatus() != NodeStatus.RUNNING) {
+                live.remove(pending.row().getId());
+            }
+        }
+    }
+
+    private Object[] insertArguments(NodeExecutionEntity row) {
+        return new Object[]{
+                row.getId(), row.getGraphExecutionId(), row.getNodeId(), row.getNodeType(), name(row.getStatus()),
+                json(row.getInputs()), json(row.getOutputs()), row.getAttempts(), json(row.getAttemptErrors()),
+                timestamp(row.getStartedAt()), timestamp(row.getFinishedAt()), row.getErrorMessage()
+        };
+    }
+
+    private Object[] updateArguments(NodeExecutionEntity row) {
+        return new Object[]{
+                name(row.getStatus()), json(row.getInputs()), json(row.getOutputs()), row.getAttempts(),
+                json(row.getAttemptErrors()), timestamp(row.getFinishedAt()), row.getErrorMessage(), row.getId()
+        };
+    }
+
+    private String json(Object value) {
+        if (value == null) return null;
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new NodeExecutionException("Unable to serialize node execution payload: " + e.getMessage(), e);
+        }
+    }
+
+    private static String name(NodeStatus status) {
+        return status == null ? null : status.name();
+    }
+
+    /**
+     * UTC wall-clock time, as {@link NodeExecutionEntity} maps its timestamps, so the
+     * session time zone never takes part in the conversion.
+     */
+    private static LocalDateTime timestamp(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static final class Entry {
+        private final NodeExecutionEntity state;
+        private boolean inserted;
+        private long revision = 1;
+        private long flushedRevision;
+        private int failedWrites;
+
+        private Entry(NodeExecutionEntity state, boolean inserted) {
+            this.state = state;
+            this.inserted = inserted;
+            this.flushedRevision = inserted ? 1 : 0;
+        }
+    }
+
+    private record Pending(Entry entry, NodeExecutionEntity row, boolean insert, long revision) {}
+}
@@ -0,0 +1,73 @@
+package com.example.pixel.node_execution.service;
+
+import com.example.pixel.node.dto.NodeConfigurationDto;
+import com.example.pixel.node.service.NodeService;
+import com.example.pixel.node_execution.model.NodeExecutionPolicy;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the {@link NodeExecutionPolicy} of a node type from the execution hints of
+ * its active configuration ({@code timeoutMs}, {@code maxAttempts}, {@code retryable}),
+ * falling back to the engine-wide defaults for anything the node does not declare.
+ * Node types declaring {@code splitInput} and {@code mergeOutputs} also get a
+ * {@link NodeSplitSpec}.
+ */
+@Service
+public class NodeExecutionPolicyResolver {
+
+    private static final String TIMEOUT_HINT = "timeoutMs";
+    private static final String MAX_ATTEMPTS_HINT = "maxAttempts";
+    private static final String RETRYABLE_HINT = "retryable";
+    private static final String SPLIT_INPUT_HINT = "splitInput";
+    private static final String MERGE_OUTPUTS_HINT = "mergeOutputs";
+
+    private final NodeService nodeService;
+    private final NodeExecutionPolicy defaults;
+
+    public NodeExecutionPolicyResolver(
+            NodeService nodeService,
+            @Value("${execution.node.timeout-ms}") long timeoutMs,
+            @Value("${execution.node.retry.max-attempts}") int maxAttempts
+    ) {
+        this.nodeService = nodeService;
+        this.defaults = new NodeExecutionPolicy(Duration.ofMillis(timeoutMs), maxAttempts, true);
+    }
+
+    public NodeExecutionPolicy resolve(String type) {
+        Map<String, Object> hints = hints(type);
+        if (hints == null) return defaults;
+
+        Duration timeout = hints.get(TIMEOUT_HINT) instanceof Number ms
+                ? Duration.ofMillis(ms.longValue())
+                : defaults.timeout();
+        int maxAttempts = hints.get(MAX_ATTEMPTS_HINT) instanceof Number attempts
+                ? attempts.intValue()
+                : defaults.maxAttempts();
+        boolean retryable = !Boolean.FALSE.equals(hints.get(RETRYABLE_HINT));
+
+        return new NodeExecutionPolicy(timeout, maxAttempts, retryable);
+    }
+
+    public Optional<NodeSplitSpec> resolveSplit(String type) {
+        Map<String, Object> hints = hints(type);
+        if (hints == null
+                || !(hints.get(SPLIT_INPUT_HINT) instanceof String input)
+                || !(hints.get(MERGE_OUTPUTS_HINT) instanceof List<?> outputs)) {
+            return Optional.empty();
+        }
+        return Optional.of(new NodeSplitSpec(input, outputs.stream().map(String::valueOf).toList()));
+    }
+
+    private Map<String, Object> hints(String type) {
+        return nodeService.findActive(type)
+                .map(NodeConfigurationDto::getExecution)
+                .orElse(null);
+    }
+}
@@ -1,19 +1,23 @@
 package com.example.pixel.node_execution.service;
 
 import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.exception.NodeExecutionNotFoundException;
 import com.example.pixel.node_execution.dto.*;
 import com.example.pixel.node_execution.cache.NodeCache;
 import com.example.pixel.node_execution.entity.NodeExecutionEntity;
 import com.example.pixel.common.integration.NodeClient;
 import com.example.pixel.node_execution.mapper.NodeExecutionMapper;
 import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeExecutionPolicy;
 import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
 import com.example.pixel.node_execution.repository.NodeExecutionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -23,14 +27,21 @@ import java.util.*;
 public class NodeExecutionService {
     private final static String NODE_EXECUTION_NOT_FOUND_MESSAGE = "Node execution not found: ";
     private final static String UNABLE_TO_FIND_NODE_IN_CACHE = "Unable to find node with id %s in cache. Graph execution id: %s";
+    private final static String FUSED_CHAIN_TYPE = "fused";
+    private final static String BATCH_TYPE = "batch";
+    private final static String MISSING_BATCH_RESULT_MESSAGE = "Node service returned no result for node with id %s";
     private final static String UNABLE_TO_FIND_OUTPUT_IN_CACHE = "Unable to find output '%s' for node with id %s in cache. Graph execution id: %s";
 
     private final NodeClient nodeClient;
     private final NodeCache nodeCache;
     private final NodeExecutionRepository nodeExecutionRepository;
+    private final NodeExecutionJournal nodeExecutionJournal;
     private final NodeExecutionMapper nodeExecutionMapper;
+    private final NodeResultMemoizer nodeResultMemoizer;
+    private final NodeExecutionPolicyResolver nodeExecutionPolicyResolver;
+    private final NodeCallRetrier nodeCallRetrier;
+    private final NodeFanOut nodeFanOut;
 
-    @Transactional
     public NodeExecutionEntity create(Node node, Long graphExecutionId) {
         Instant startedAt = Instant.now();
         NodeExecutionEntity nodeExecutionEntity = NodeExecutionEntity.builder()
@@ -39,72 +50,331 @@ public class NodeExecutionService {
                 .nodeId(node.getId())
                 .nodeType(node.getType())
                 .inputs(node.getInputs())
+                .attempts(1)
                 .startedAt(startedAt)
                 .build();
 
-        return nodeExecutionRepository.save(nodeExecutionEntity);
+        return nodeExecutionJournal.create(nodeExecutionEntity);
     }
 
-    @Transactional(readOnly = true)
-    public List<NodeExecutionDto> findAll() {
-        List<NodeExecutionEntity> nodeExecutionEntities = nodeExecutionRepository.findAll();
-        return nodeExecutionEntities.stream()
-                .map(nodeExecutionMapper::toDto)
+    /**
+     * Lists node executions without their payloads, which can hold thousands of file
+     * paths each; see {@link #findPayload}.
+     * <p>
+     * Reads that flush the journal are not transactional themselves: the flush needs a
+     * connection of its own and must not wait for it while holding one.
+     */
+    public List<NodeExecutionSummaryDto> findAll() {
+        nodeExecutionJournal.flush();
+        return nodeExecutionRepository.findAllSummaries().stream()
+                .map(nodeExecutionMapper::toSummaryDto)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<NodeExecutionDto> findByGraphExecutionId(Long graphExecutionId) {
-        List<NodeExecutionEntity> nodeExecutionEntities = nodeExecutionRepository.findByGraphExecutionId(graphExecutionId);
-        return nodeExecutionEntities.stream()
-                .map(nodeExecutionMapper::toDto)
+    public List<NodeExecutionSummaryDto> findByGraphExecutionId(Long graphExecutionId) {
+        nodeExecutionJournal.flush();
+        return nodeExecutionRepository.findSummariesByGraphExecutionId(graphExecutionId).stream()
+                .map(nodeExecutionMapper::toSummaryDto)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public NodeExecutionPayloadDto findPayload(Long id) {
+        NodeExecutionEntity executionEntity = nodeExecutionJournal.find(id)
+                .or(() -> nodeExecutionRepository.findById(id))
+                .orElseThrow(() -> new NodeExecutionNotFoundException(NODE_EXECUTION_NOT_FOUND_MESSAGE + id));
+        return nodeExecutionMapper.toPayloadDto(executionEntity);
+    }
+
+    /**
+     * Served from the journal while the record is held in memory, so executors building
+     * the result of a node they just finished do not query the database.
+     */
     @Transactional(readOnly = true)
     public NodeExecutionDto findById(Long id) {
-        NodeExecutionEntity executionEntity = nodeExecutionRepository.findById(id)
+        NodeExecutionEntity executionEntity = nodeExecutionJournal.find(id)
+                .or(() -> nodeExecutionRepository.findById(id))
                 .orElseThrow(() -> new NodeExecutionException(NODE_EXECUTION_NOT_FOUND_MESSAGE + id));
         return nodeExecutionMapper.toDto(executionEntity);
     }
 
-    @Transactional
-    public void complete(Long id, Node node, NodeExecutionResponse nodeExecutionResponse) {
-        NodeExecutionEntity nodeExecutionEntity = nodeExecutionRepository.findById(id)
-                .orElseThrow(() -> new NodeExecutionException(NODE_EXECUTION_NOT_FOUND_MESSAGE + id));
+    public List<NodeExecutionDto> findCompleted(Long graphExecutionId) {
+        nodeExecutionJournal.flush();
+        return nodeExecutionRepository.findByGraphExecutionIdAndStatus(graphExecutionId, NodeStatus.COMPLETED).stream()
+                .map(nodeExecutionMapper::toDto)
+                .toList();
+    }
 
-        nodeExecutionEntity.setInputs(node.getInputs());
-        nodeExecutionEntity.setStatus(NodeStatus.COMPLETED);
-        nodeExecutionEntity.setOutputs(nodeExecutionResponse.getOutputs());
-        nodeExecutionEntity.setFinishedAt(Instant.now());
+    /**
+     * The completed execution of this node within the graph execution, if it was
+     * restored for a resume. Fresh executions never have the output cached yet, so they
+     * skip the database lookup.
+     */
+    public Optional<NodeExecutionDto> findCheckpoint(Node node, Long graphExecutionId) {
+        if (!nodeCache.exists(getOutputKey(graphExecutionId, node.getId()))) {
+            return Optional.empty();
+        }
+        nodeExecutionJournal.flush();
+        return nodeExecutionRepository
+                .findFirstByGraphExecutionIdAndNodeIdAndStatusOrderByIdDesc(graphExecutionId, node.getId(), NodeStatus.COMPLETED)
+                .map(nodeExecutionMapper::toDto);
+    }
+
+    /**
+     * Puts a completed node's inputs and outputs back into the cache, so dependents
+     * resolve their references exactly as in the original run.
+     */
+    public void restore(NodeExecutionDto nodeExecutionDto) {
+        Long graphExecutionId = nodeExecutionDto.getGraphExecutionId();
+        Long nodeId = nodeExecutionDto.getNodeId();
+        Map<String, Object> inputs = nodeExecutionDto.getInputs() != null ? nodeExecutionDto.getInputs() : Map.of();
+        Map<String, Object> outputs = nodeExecutionDto.getOutputs() != null ? nodeExecutionDto.getOutputs() : Map.of();
+
+        nodeCache.put(getInputKey(graphExecutionId, nodeId), inputs);
+        nodeCache.put(getOutputKey(graphExecutionId, nodeId), outputs);
+    }
+
+    public void failRunning(Long graphExecutionId, String message) {
+        nodeExecutionJournal.flush();
+        List<NodeExecutionEntity> running = nodeExecutionRepository.findByGraphExecutionIdAndStatus(graphExecutionId, NodeStatus.RUNNING);
+        for (NodeExecutionEntity nodeExecutionEntity : running) {
+            nodeExecutionJournal.update(nodeExecutionEntity.getId(), entity -> {
+                entity.setStatus(NodeStatus.FAILED);
+                entity.setErrorMessage(message);
+                entity.setFinishedAt(Instant.now());
+            });
+        }
+        nodeExecutionJournal.flush();
+    }
 
-        nodeExecutionRepository.save(nodeExecutionEntity);
+    public void complete(Long id, Node node, NodeExecutionResponse nodeExecutionResponse) {
+        nodeExecutionJournal.update(id, nodeExecutionEntity -> {
+            nodeExecutionEntity.setInputs(node.getInputs());
+            nodeExecutionEntity.setStatus(NodeStatus.COMPLETED);
+            nodeExecutionEntity.setOutputs(nodeExecutionResponse.getOutputs());
+            nodeExecutionEntity.setFinishedAt(Instant.now());
+        });
     }
 
-    @Transactional
     public void failed(Long id, Node node, String message) {
-        NodeExecutionEntity nodeExecutionEntity = nodeExecutionRepository.findById(id)
-                .orElseThrow(() -> new NodeExecutionException(NODE_EXECUTION_NOT_FOUND_MESSAGE + id));
+        nodeExecutionJournal.update(id, nodeExecutionEntity -> {
+            nodeExecutionEntity.setInputs(node.getInputs());
+            nodeExecutionEntity.setStatus(NodeStatus.FAILED);
+            nodeExecutionEntity.setErrorMessage(message);
+            nodeExecutionEntity.setFinishedAt(Instant.now());
+        });
+    }
+
+    public void recordRetry(Long id, int attempt, String failure) {
+        nodeExecutionJournal.update(id, nodeExecutionEntity -> {
+            List<String> attemptErrors = nodeExecutionEntity.getAttemptErrors() != null
+                    ? new ArrayList<>(nodeExecutionEntity.getAttemptErrors())
+                    : new ArrayList<>();
+            attemptErrors.add(failure);
 
-        nodeExecutionEntity.setInputs(node.getInputs());
-        nodeExecutionEntity.setStatus(NodeStatus.FAILED);
-        nodeExecutionEntity.setErrorMessage(message);
-        nodeExecutionEntity.setFinishedAt(Instant.now());
+            nodeExecutionEntity.setAttempts(attempt);
+            nodeExecutionEntity.setAttemptErrors(attemptErrors);
+        });
+    }
 
-        nodeExecutionRepository.save(nodeExecutionEntity);
+    public void cancelled(Long id, Node node) {
+        nodeExecutionJournal.update(id, nodeExecutionEntity -> {
+            nodeExecutionEntity.setInputs(node.getInputs());
+            nodeExecutionEntity.setStatus(NodeStatus.CANCELLED);
+            nodeExecutionEntity.setFinishedAt(Instant.now());
+        });
     }
 
     public NodeClientData setup(Node node, Long graphExecutionId) {
-        Map<String, Object> resolvedInputs = resolveInputs(node, graphExecutionId);
-        node.setInputs(resolvedInputs);
+        return setup(node, graphExecutionId, Set.of());
+    }
+
+    /**
+     * Resolves every input except the deferred ones, which are left untouched because
+     * their producers have not published their outputs yet. The node itself is not
+     * modified; callers record the resolved inputs with {@link Node#withInputs}.
+     */
+    public NodeClientData setup(Node node, Long graphExecutionId, Set<String> deferredInputs) {
+        Map<String, Object> resolvedInputs = resolveInputs(node, graphExecutionId, deferredInputs);
 
         Metadata meta = new Metadata(node.getType(), node.getId(), graphExecutionId);
 
         return new NodeClientData(meta, resolvedInputs);
     }
 
-    public NodeExecutionResponse execute(NodeClientData nodeClientData) {
-        NodeExecutionResponse executionResponse = nodeClient.execute(nodeClientData);
+    /**
+     * Validates and executes the node, unless an earlier execution already produced
+     * outputs for the same type, configuration version and inputs. Reused outputs are
+     * published to the execution cache exactly like fresh ones. Transient failures are
+     * retried according to the node type's {@link NodeExecutionPolicy}, and every retry
+     * is recorded on the node execution. A node type with a {@link NodeSplitSpec} whose
+     * split input is large enough is fanned out over concurrent shard calls.
+     */
+    public NodeExecutionResponse executeOrReuse(Long id, NodeClientData nodeClientData) {
+        Metadata meta = nodeClientData.getMeta();
+        Optional<String> fingerprint = nodeResultMemoizer.fingerprint(nodeClientData);
+
+        Optional<NodeExecutionResponse> memoized = fingerprint
+                .flatMap(key -> nodeResultMemoizer.lookup(key, meta.getType()));
+        if (memoized.isPresent()) {
+            nodeCache.put(getInputKey(meta.getGraphExecutionId(), meta.getNodeId()), nodeClientData.getInputs());
+            nodeCache.put(getOutputKey(meta.getGraphExecutionId(), meta.getNodeId()), memoized.get().getOutputs());
+            log.info("Node {} Exec | Reused memoized outputs", meta.getNodeId());
+            return memoized.get();
+        }
+
+        Optional<NodeSplitSpec> split = nodeExecutionPolicyResolver.resolveSplit(meta.getType());
+        List<List<Object>> shards = split
+                .map(spec -> nodeFanOut.shard(nodeClientData, spec))
+                .orElse(List.of());
+
+        NodeExecutionResponse executionResponse;
+        if (!shards.isEmpty()) {
+            executionResponse = nodeFanOut.execute(nodeClientData, split.get(), shards, shard -> executeBatch(id, shard));
+            publish(nodeClientData, executionResponse.getOutputs());
+        } else {
+            NodeExecutionPolicy policy = nodeExecutionPolicyResolver.resolve(meta.getType());
+            executionResponse = nodeCallRetrier.call(
+                    meta.getType(),
+                    policy,
+                    (attempt, failure) -> recordRetry(id, attempt, failure.getMessage()),
+                    () -> {
+                        validate(nodeClientData, policy.timeout());
+                        return execute(nodeClientData, policy.timeout());
+                    }
+            );
+        }
+        fingerprint.ifPresent(key -> nodeResultMemoizer.store(key, executionResponse));
+        return executionResponse;
+    }
+
+    /**
+     * Validates and executes one batch or shard of a split node. Nothing is cached or
+     * memoized: the caller merges the parts and publishes the node's result once with
+     * {@link #publish}.
+     */
+    public NodeExecutionResponse executeBatch(Long id, NodeClientData nodeClientData) {
+        Metadata meta = nodeClientData.getMeta();
+        NodeExecutionPolicy policy = nodeExecutionPolicyResolver.resolve(meta.getType());
+        return nodeCallRetrier.call(
+                meta.getType(),
+                policy,
+                (attempt, failure) -> recordRetry(id, attempt, failure.getMessage()),
+                () -> {
+                    nodeClient.validate(nodeClientData, policy.timeout());
+                    return nodeClient.execute(nodeClientData, policy.timeout());
+                }
+        );
+    }
+
+    /**
+     * Makes the merged inputs and outputs of a node executed in batches visible to its
+     * dependents, exactly as a single execution would have.
+     */
+    public void publish(NodeClientData nodeClientData, Map<String, Object> outputs) {
+        Metadata meta = nodeClientData.getMeta();
+        nodeCache.put(getInputKey(meta.getGraphExecutionId(), meta.getNodeId()), nodeClientData.getInputs());
+        nodeCache.put(getOutputKey(meta.getGraphExecutionId(), meta.getNodeId()), outputs);
+    }
+
+    /**
+     * Executes a fused chain in one node-service call. The chain gets the summed timeout
+     * of its nodes and is retried only if every node is retryable; each retry is recorded
+     * on all of the chain's node executions.
+     */
+    public NodeChainResponse executeChain(List<Long> ids, List<NodeClientData> nodes) {
+        Duration timeout = Duration.ZERO;
+        int maxAttempts = Integer.MAX_VALUE;
+        boolean retryable = true;
+        for (NodeClientData node : nodes) {
+            NodeExecutionPolicy policy = nodeExecutionPolicyResolver.resolve(node.getMeta().getType());
+            timeout = timeout.plus(policy.timeout());
+            maxAttempts = Math.min(maxAttempts, policy.maxAttempts());
+            retryable &= policy.retryable();
+        }
+
+        Duration chainTimeout = timeout;
+        NodeChainResponse chainResponse = nodeCallRetrier.call(
+                FUSED_CHAIN_TYPE,
+                new NodeExecutionPolicy(chainTimeout, maxAttempts, retryable),
+                (attempt, failure) -> ids.forEach(id -> recordRetry(id, attempt, failure.getMessage())),
+                () -> nodeClient.executeChain(new NodeChainRequest(nodes), chainTimeout)
+        );
+
+        log.info("Nodes {} Exec | Fused chain response: {} results, error: {}",
+                ids, chainResponse.getResults() != null ? chainResponse.getResults().size() : 0, chainResponse.getError());
+        return chainResponse;
+    }
+
+    /**
+     * Executes independent nodes in one node-service call and returns their responses in
+     * the same order. Nodes with memoized outputs are answered locally and left out of
+     * the request. Successful responses are published and memoized exactly like those
+     * of {@link #executeOrReuse}; a failed node only gets its {@code error} set. The
+     * request uses the longest timeout of its nodes and is retried only if every node
+     * is retryable.
+     */
+    public List<NodeExecutionResponse> executeAll(List<Long> ids, List<NodeClientData> nodes) {
+        NodeExecutionResponse[] responses = new NodeExecutionResponse[nodes.size()];
+        List<Optional<String>> fingerprints = new ArrayList<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            NodeClientData node = nodes.get(i);
+            Optional<String> fingerprint = nodeResultMemoizer.fingerprint(node);
+            fingerprints.add(fingerprint);
+
+            Optional<NodeExecutionResponse> memoized = fingerprint
+                    .flatMap(key -> nodeResultMemoizer.lookup(key, node.getMeta().getType()));
+            if (memoized.isPresent()) {
+                publish(node, memoized.get().getOutputs());
+                log.info("Node {} Exec | Reused memoized outputs", node.getMeta().getNodeId());
+                responses[i] = memoized.get();
+            } else {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) return Arrays.asList(responses);
+
+        Duration timeout = Duration.ZERO;
+        int maxAttempts = Integer.MAX_VALUE;
+        boolean retryable = true;
+        for (int i : pending) {
+            NodeExecutionPolicy policy = nodeExecutionPolicyResolver.resolve(nodes.get(i).getMeta().getType());
+            timeout = timeout.compareTo(policy.timeout()) < 0 ? policy.timeout() : timeout;
+            maxAttempts = Math.min(maxAttempts, policy.maxAttempts());
+            retryable &= policy.retryable();
+        }
+
+        Duration batchTimeout = timeout;
+        List<NodeClientData> request = pending.stream().map(nodes::get).toList();
+        NodeBatchResponse batchResponse = nodeCallRetrier.call(
+                BATCH_TYPE,
+                new NodeExecutionPolicy(batchTimeout, maxAttempts, retryable),
+                (attempt, failure) -> pending.forEach(i -> recordRetry(ids.get(i), attempt, failure.getMessage())),
+                () -> nodeClient.executeBatch(new NodeBatchRequest(request), batchTimeout)
+        );
+
+        List<NodeExecutionResponse> results = batchResponse.getResults() != null ? batchResponse.getResults() : List.of();
+        for (int j = 0; j < pending.size(); j++) {
+            int i = pending.get(j);
+            NodeClientData node = nodes.get(i);
+            NodeExecutionResponse result = j < results.size() ? results.get(j) : null;
+            if (result == null) {
+                result = new NodeExecutionResponse();
+                result.setError(String.format(MISSING_BATCH_RESULT_MESSAGE, node.getMeta().getNodeId()));
+            } else if (result.getError() == null) {
+                publish(node, result.getOutputs());
+                NodeExecutionResponse stored = result;
+                fingerprints.get(i).ifPresent(key -> nodeResultMemoizer.store(key, stored));
+            }
+            log.info("Node {} Exec | Batched response: {}", node.getMeta().getNodeId(), result);
+            responses[i] = result;
+        }
+        return Arrays.asList(responses);
+    }
+
+    public NodeExecutionResponse execute(NodeClientData nodeClientData, Duration timeout) {
+        NodeExecutionResponse executionResponse = nodeClient.execute(nodeClientData, timeout);
 
         String outputKey = getOutputKey(nodeClientData.getMeta().getGraphExecutionId(), nodeClientData.getMeta().getNodeId());
         nodeCache.put(outputKey, executionResponse.getOutputs());
@@ -113,8 +383,8 @@ public class NodeExecutionService {
         return executionResponse;
     }
 
-    public void validate(NodeClientData nodeClientData) {
-        NodeValidationResponse validationResponse = nodeClient.validate(nodeClientData);
+    public void validate(NodeClientData nodeClientData, Duration timeout) {
+        NodeValidationResponse validationResponse = nodeClient.validate(nodeClientData, timeout);
 
         String inputKey = getInputKey(nodeClientData.getMeta().getGraphExecutionId(), nodeClientData.getMeta().getNodeId());
         nodeCache.put(inputKey, nodeClientData.getInputs());
@@ -122,11 +392,13 @@ public class NodeExecutionService {
         log.info("Node {} Validation | Response: {}", nodeClientData.getMeta().getNodeId(), validationResponse);
     }
 
-    private Map<String, Object> resolveInputs(Node node, Long graphExecutionId) {
+    private Map<String, Object> resolveInputs(Node node, Long graphExecutionId, Set<String> deferredInputs) {
         Map<String, Object> resolvedInputs = new HashMap<>();
 
         for (String key: node.getInputs().keySet()) {
-            resolvedInputs.put(key, resolveInput(node, graphExecutionId, key));
+            resolvedInputs.put(key, deferredInputs.contains(key)
+                    ? node.getInputs().get(key)
+                    : resolveInput(node, graphExecutionId, key));
         }
 
         return resolvedInputs;
@@ -163,11 +435,11 @@ public class NodeExecutionService {
         return outputMap.get(output);
     }
 
-    private String getOutputKey(Long graphExecutionId, Long nodeId) {
+    private String getOutputKey(Long graphExecutionId, long nodeId) {
         return graphExecutionId + ":" + nodeId + ":output";
     }
 
-    private String getInputKey(Long graphExecutionId, Long nodeId) {
+    private String getInputKey(Long graphExecutionId, long nodeId) {
         return graphExecutionId + ":" + nodeId + ":input";
     }
 }
@@ -0,0 +1,106 @@
+package com.example.pixel.node_execution.service;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Data-parallel execution of a single split node. Its split input is cut into up to
+ * {@code execution.fan-out.shards} shards of at least
+ * {@code execution.fan-out.min-items-per-shard} items each, the shards are executed
+ * against the node service concurrently, and their outputs are merged in shard order.
+ * Shards run on their own executor, because the calling node task waits for them and
+ * must not compete with them for node task slots.
+ */
+@Slf4j
+@Service
+public class NodeFanOut {
+
+    private final CancellationRegistry cancellationRegistry;
+    private final Executor shardTaskExecutor;
+    private final int shards;
+    private final int minItemsPerShard;
+
+    public NodeFanOut(
+            CancellationRegistry cancellationRegistry,
+            @Qualifier("shardTaskExecutor") Executor shardTaskExecutor,
+            @Value("${execution.fan-out.shards}") int shards,
+            @Value("${execution.fan-out.min-items-per-shard}") int minItemsPerShard
+    ) {
+        this.cancellationRegistry = cancellationRegistry;
+        this.shardTaskExecutor = shardTaskExecutor;
+        this.shards = shards;
+        this.minItemsPerShard = minItemsPerShard;
+    }
+
+    /**
+     * The shards of the node's split input, or an empty list when it is not worth
+     * splitting.
+     */
+    public List<List<Object>> shard(NodeClientData nodeClientData, NodeSplitSpec spec) {
+        if (shards <= 1 || !(nodeClientData.getInputs().get(spec.input()) instanceof Collection<?> items)) {
+            return List.of();
+        }
+
+        int count = Math.min(shards, items.size() / Math.max(1, minItemsPerShard));
+        if (count <= 1) return List.of();
+
+        return spec.partition(items, (items.size() + count - 1) / count);
+    }
+
+    /**
+     * Executes every shard through {@code call} and merges their outputs. A failing
+     * shard fails the node once the other shards have returned.
+     */
+    public NodeExecutionResponse execute(
+            NodeClientData nodeClientData,
+            NodeSplitSpec spec,
+            List<List<Object>> shards,
+            Function<NodeClientData, NodeExecutionResponse> call
+    ) {
+        Long graphExecutionId = nodeClientData.getMeta().getGraphExecutionId();
+        List<CompletableFuture<NodeExecutionResponse>> futures = new ArrayList<>(shards.size());
+        for (List<Object> shard : shards) {
+            Map<String, Object> inputs = new HashMap<>(nodeClientData.getInputs());
+            inputs.put(spec.input(), shard);
+            NodeClientData shardData = new NodeClientData(nodeClientData.getMeta(), inputs);
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try (CancellationRegistry.Registration ignored = cancellationRegistry.enter(graphExecutionId)) {
+                    return call.apply(shardData);
+                }
+            }, shardTaskExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new NodeExecutionException(cause.getMessage(), cause);
+        }
+
+        List<Map<String, Object>> outputs = futures.stream()
+                .map(CompletableFuture::join)
+                .map(NodeExecutionResponse::getOutputs)
+                .toList();
+
+        NodeExecutionResponse response = new NodeExecutionResponse();
+        response.setOutputs(spec.merge(outputs));
+        log.info("Node {} Exec | Fanned out over {} shards", nodeClientData.getMeta().getNodeId(), shards.size());
+        return response;
+    }
+}
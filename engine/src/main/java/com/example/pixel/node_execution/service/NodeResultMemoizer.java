@@ -0,0 +1,170 @@
+package com.example.pixel.node_execution.service;
+
+import com.example.pixel.file_system.service.StorageService;
+import com.example.pixel.node.dto.NodeConfigurationDto;
+import com.example.pixel.node.service.NodeService;
+import com.example.pixel.node_execution.cache.NodeCache;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Reuses node outputs across graph executions. The key is a SHA-256 over the node type,
+ * the version of its active configuration and the resolved inputs, so re-registering a
+ * node or changing any input value produces a new key. Inputs that name a file in
+ * storage also contribute the file's size and modification time, which keeps a
+ * re-uploaded file with the same name from hitting a stale entry.
+ * <p>
+ * Entries expire after {@code execution.memoization.ttl-seconds}, so a shared cache does
+ * not keep every fingerprint ever seen. Node types opt out with
+ * {@code "deterministic": false} in their execution hints.
+ */
+@Slf4j
+@Service
+public class NodeResultMemoizer {
+
+    private static final String KEY_PREFIX = "memo:";
+    private static final String OUTPUTS = "outputs";
+    private static final String FILES = "files";
+    private static final String DETERMINISTIC_HINT = "deterministic";
+
+    private final NodeService nodeService;
+    private final NodeCache nodeCache;
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    public NodeResultMemoizer(
+            NodeService nodeService,
+            NodeCache nodeCache,
+            StorageService storageService,
+            MeterRegistry meterRegistry,
+            @Value("${execution.memoization.enabled}") boolean enabled,
+            @Value("${execution.memoization.ttl-seconds}") long ttlSeconds
+    ) {
+        this.nodeService = nodeService;
+        this.nodeCache = nodeCache;
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    /**
+     * Fingerprint of a node invocation, or empty if the node must always run.
+     */
+    public Optional<String> fingerprint(NodeClientData data) {
+        if (!enabled) return Optional.empty();
+
+        String type = data.getMeta().getType();
+        Optional<NodeConfigurationDto> configuration = nodeService.findActive(type);
+        if (configuration.isEmpty() || !isDeterministic(configuration.get())) {
+            return Optional.empty();
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((type + "\n" + configuration.get().getVersion() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(canonicalMapper.writeValueAsBytes(data.getInputs()));
+            for (String file : new TreeSet<>(existingFiles(data.getInputs().values()))) {
+                Path path = storageService.load(file);
+                digest.update(("\n" + file + ":" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return Optional.of(KEY_PREFIX + HexFormat.of().formatHex(digest.digest()));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            log.warn("Unable to fingerprint inputs of node {}: {}", data.getMeta().getNodeId(), e.getMessage());
+            return Optional.empty();
+        } catch (IOException e) {
+            // The file changed under us; run the node rather than guess
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Outputs stored for the fingerprint, provided every file they refer to still exists.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<NodeExecutionResponse> lookup(String fingerprint, String type) {
+        Map<String, Object> entry = nodeCache.exists(fingerprint) ? nodeCache.get(fingerprint) : null;
+
+        boolean hit = entry != null && ((List<String>) entry.get(FILES)).stream()
+                .allMatch(file -> Files.exists(storageService.load(file)));
+        counter(hit ? "hit" : "miss", type).increment();
+        if (!hit) return Optional.empty();
+
+        NodeExecutionResponse response = new NodeExecutionResponse();
+        response.setOutputs((Map<String, Object>) entry.get(OUTPUTS));
+        return Optional.of(response);
+    }
+
+    public void store(String fingerprint, NodeExecutionResponse response) {
+        if (response.getOutputs() == null) return;
+
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(OUTPUTS, response.getOutputs());
+        entry.put(FILES, existingFiles(response.getOutputs().values()));
+        nodeCache.put(fingerprint, entry, ttl);
+    }
+
+    private boolean isDeterministic(NodeConfigurationDto configuration) {
+        Map<String, Object> hints = configuration.getExecution();
+        return hints == null || !Boolean.FALSE.equals(hints.get(DETERMINISTIC_HINT));
+    }
+
+    private List<String> existingFiles(Collection<Object> values) {
+        List<String> files = new ArrayList<>();
+        for (Object value : values) {
+            if (value instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    addIfFile(element, files);
+                }
+            } else {
+                addIfFile(value, files);
+            }
+        }
+        return files;
+    }
+
+    private void addIfFile(Object value, List<String> files) {
+        if (!(value instanceof String candidate) || candidate.isBlank()) return;
+        try {
+            if (Files.isRegularFile(storageService.load(candidate))) {
+                files.add(candidate);
+            }
+        } catch (InvalidPathException ignored) {
+            // Plain string input, not a path
+        }
+    }
+
+    private Counter counter(String result, String type) {
+        return Counter.builder("pixel.node.memoization")
+                .description("Node result cache lookups")
+                .tag("result", result)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,2 @@
+ALTER TABLE node_executions ADD COLUMN attempts INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE node_executions ADD COLUMN attempt_errors JSON;
@@ -0,0 +1 @@
+ALTER TABLE graphs ADD COLUMN failure_policy VARCHAR(32) NOT NULL DEFAULT 'FAIL_FAST';
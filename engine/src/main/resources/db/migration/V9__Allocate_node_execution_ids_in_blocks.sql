@@ -0,0 +1,2 @@
+ALTER TABLE node_executions ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE node_executions_id_seq INCREMENT BY 50;
@@ -0,0 +1,57 @@
+package com.example.pixel.common;
+
+import com.example.pixel.common.exception.ExecutionCancelledException;
+import com.example.pixel.common.service.CancellationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationRegistryTest {
+
+    private final CancellationRegistry registry = new CancellationRegistry();
+
+    @Test
+    void cancel_shouldInterruptRegisteredThreadsOfThatExecutionOnly() throws Exception {
+        CountDownLatch entered = new CountDownLatch(2);
+        AtomicBoolean cancelledInterrupted = new AtomicBoolean();
+        AtomicBoolean otherInterrupted = new AtomicBoolean();
+
+        Thread cancelled = new Thread(() -> sleepRegistered(1L, entered, cancelledInterrupted));
+        Thread other = new Thread(() -> sleepRegistered(2L, entered, otherInterrupted));
+        cancelled.start();
+        other.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        registry.cancel(1L);
+        cancelled.join(5_000);
+
+        assertTrue(cancelledInterrupted.get());
+        assertTrue(other.isAlive());
+        other.interrupt();
+        other.join(5_000);
+    }
+
+    @Test
+    void enter_shouldRejectCancelledExecutionUntilForgotten() {
+        registry.cancel(1L);
+
+        assertThrows(ExecutionCancelledException.class, () -> registry.enter(1L));
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        registry.forget(1L);
+        registry.enter(1L).close();
+    }
+
+    private void sleepRegistered(Long graphExecutionId, CountDownLatch entered, AtomicBoolean interrupted) {
+        try (CancellationRegistry.Registration ignored = registry.enter(graphExecutionId)) {
+            entered.countDown();
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+        }
+    }
+}
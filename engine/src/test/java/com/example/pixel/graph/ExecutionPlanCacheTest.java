@@ -0,0 +1,57 @@
+package com.example.pixel.graph;
+
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.graph.service.ExecutionPlanCache;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeReference;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionPlanCacheTest {
+
+    private final ExecutionPlanCache cache = new ExecutionPlanCache(16);
+
+    @Test
+    void get_shouldReuseCompiledGraphForSameVersion() {
+        Graph first = cache.get(graph(0L, "a.png"));
+        Graph second = cache.get(graph(0L, "a.png"));
+
+        assertSame(first, second);
+        assertEquals(2, first.getNodes().size());
+        assertInstanceOf(NodeReference.class, first.getNodes().get(1).getInputs().get("input"));
+    }
+
+    @Test
+    void get_shouldRecompileWhenVersionOrNodesChange() {
+        Graph original = cache.get(graph(0L, "a.png"));
+
+        assertNotSame(original, cache.get(graph(1L, "a.png")));
+        assertNotSame(original, cache.get(graph(0L, "b.png")));
+    }
+
+    @Test
+    void get_shouldNotCacheGraphsWithoutVersion() {
+        assertNotSame(cache.get(graph(null, "a.png")), cache.get(graph(null, "a.png")));
+    }
+
+    @Test
+    void evict_shouldDropEveryVersionOfGraph() {
+        Graph original = cache.get(graph(0L, "a.png"));
+
+        cache.evict("graph");
+
+        assertNotSame(original, cache.get(graph(0L, "a.png")));
+    }
+
+    private GraphDto graph(Long version, String file) {
+        return new GraphDto("graph", null, List.of(
+                new Node(1L, "input", Map.of("input", List.of(file))),
+                new Node(2L, "output", Map.of("input", "@node:1:output"))
+        ), null, version);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.pixel.graph;
 
+import com.example.pixel.common.exception.InvalidGraphException;
+import com.example.pixel.common.exception.InvalidNodeInputException;
 import com.example.pixel.graph.service.GraphBuilder;
 import com.example.pixel.node_execution.model.Node;
 import org.junit.jupiter.api.Test;
@@ -23,10 +25,7 @@ class GraphBuilderTopologicalSortTest {
 
         printInitialOrder(nodes);
 
-        List<Node> processedNodes = GraphBuilder.setupReferences(nodes);
-        Map<Long, Node> nodeMap = GraphBuilder.getNodeMap(processedNodes);
-        Map<Node, List<Node>> nodeOutputs = GraphBuilder.mapOutputNodes(processedNodes);
-        List<List<Node>> levels = GraphBuilder.buildTopologicalOrder(processedNodes, nodeOutputs, nodeMap);
+        List<List<Node>> levels = GraphBuilder.compile(nodes).levels();
         List<Node> topologicalOrder = GraphBuilder.getTopologicalOrderFromLevels(levels);
 
         printTopologicalOrder(topologicalOrder, levels);
@@ -53,10 +52,7 @@ class GraphBuilderTopologicalSortTest {
 
         printInitialOrder(nodes);
 
-        List<Node> processedNodes = GraphBuilder.setupReferences(nodes);
-        Map<Long, Node> nodeMap = GraphBuilder. getNodeMap(processedNodes);
-        Map<Node, List<Node>> nodeOutputs = GraphBuilder.mapOutputNodes(processedNodes);
-        List<List<Node>> levels = GraphBuilder.buildTopologicalOrder(processedNodes, nodeOutputs, nodeMap);
+        List<List<Node>> levels = GraphBuilder.compile(nodes).levels();
         List<Node> topologicalOrder = GraphBuilder.getTopologicalOrderFromLevels(levels);
 
         printTopologicalOrder(topologicalOrder, levels);
@@ -97,10 +93,7 @@ class GraphBuilderTopologicalSortTest {
 
         printInitialOrder(nodes);
 
-        List<Node> processedNodes = GraphBuilder.setupReferences(nodes);
-        Map<Long, Node> nodeMap = GraphBuilder.getNodeMap(processedNodes);
-        Map<Node, List<Node>> nodeOutputs = GraphBuilder. mapOutputNodes(processedNodes);
-        List<List<Node>> levels = GraphBuilder.buildTopologicalOrder(processedNodes, nodeOutputs, nodeMap);
+        List<List<Node>> levels = GraphBuilder.compile(nodes).levels();
         List<Node> topologicalOrder = GraphBuilder.getTopologicalOrderFromLevels(levels);
 
         printTopologicalOrder(topologicalOrder, levels);
@@ -135,10 +128,7 @@ class GraphBuilderTopologicalSortTest {
 
         printInitialOrder(nodes);
 
-        List<Node> processedNodes = GraphBuilder.setupReferences(nodes);
-        Map<Long, Node> nodeMap = GraphBuilder.getNodeMap(processedNodes);
-        Map<Node, List<Node>> nodeOutputs = GraphBuilder.mapOutputNodes(processedNodes);
-        List<List<Node>> levels = GraphBuilder.buildTopologicalOrder(processedNodes, nodeOutputs, nodeMap);
+        List<List<Node>> levels = GraphBuilder.compile(nodes).levels();
         List<Node> topologicalOrder = GraphBuilder.getTopologicalOrderFromLevels(levels);
 
         printTopologicalOrder(topologicalOrder, levels);
@@ -149,6 +139,66 @@ class GraphBuilderTopologicalSortTest {
         assertEquals(5L, topologicalOrder.get(3).getId());
     }
 
+    @Test
+    void testCompile_ListsDependentOncePerReference() {
+        GraphBuilder.CompiledGraph compiled = GraphBuilder.compile(Arrays.asList(
+                new Node(1L, "input", Map.of()),
+                new Node(2L, "combine", Map.of("a", "@node:1:output", "b", "@node:1:output")),
+                new Node(3L, "output", Map.of("input", "@node:2:output"))
+        ));
+
+        assertEquals(List.of(2L, 2L), compiled.dependents().get(1L).stream().map(Node::getId).toList());
+        assertEquals(List.of(3L), compiled.dependents().get(2L).stream().map(Node::getId).toList());
+        assertTrue(compiled.dependents().get(3L).isEmpty());
+        assertEquals(3, compiled.levels().size());
+    }
+
+    @Test
+    void testCompile_LongChainWithoutRecursion() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(new Node(0L, "input", Map.of()));
+        for (long id = 1; id < 100_000; id++) {
+            nodes.add(new Node(id, "blur", Map.of("input", "@node:" + (id - 1) + ":output")));
+        }
+        Collections.shuffle(nodes, new Random(42));
+
+        GraphBuilder.CompiledGraph compiled = GraphBuilder.compile(nodes);
+
+        assertEquals(100_000, compiled.levels().size());
+        assertEquals(List.of(1L), compiled.dependents().get(0L).stream().map(Node::getId).toList());
+        assertTrue(compiled.dependents().get(99_999L).isEmpty());
+    }
+
+    @Test
+    void testCompile_ReportsCycleInOrder() {
+        List<Node> nodes = Arrays.asList(
+                new Node(1L, "input", Map.of()),
+                new Node(2L, "blur", Map.of("input", "@node:4:output", "sigma", "@node:1:output")),
+                new Node(3L, "blur", Map.of("input", "@node:2:output")),
+                new Node(4L, "blur", Map.of("input", "@node:3:output")),
+                new Node(5L, "output", Map.of("input", "@node:4:output"))
+        );
+
+        InvalidGraphException exception = assertThrows(InvalidGraphException.class, () -> GraphBuilder.compile(nodes));
+
+        // Walked from the first node left unsorted, listed from producer to consumer
+        assertEquals("Graph contains a cycle: [2, 3, 4, 2]", exception.getMessage());
+    }
+
+    @Test
+    void testCompile_RejectsDuplicateIdsAndDanglingReferences() {
+        InvalidGraphException duplicate = assertThrows(InvalidGraphException.class, () -> GraphBuilder.compile(List.of(
+                new Node(4L, "floor", Map.of("input", 56)),
+                new Node(4L, "floor", Map.of("input", 56))
+        )));
+        assertEquals("Graph contains nodes with duplicate IDs: [4]", duplicate.getMessage());
+
+        InvalidNodeInputException dangling = assertThrows(InvalidNodeInputException.class, () -> GraphBuilder.compile(List.of(
+                new Node(1L, "blur", Map.of("input", "@node:10:output"))
+        )));
+        assertTrue(dangling.getMessage().contains("Node with id 10 is not found"));
+    }
+
     private void printInitialOrder(List<Node> nodes) {
         System.out.println("\n Initial Order (unsorted):");
         for (int i = 0; i < nodes.size(); i++) {
@@ -0,0 +1,124 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.model.Graph;
+import com.example.pixel.graph_execution.executor.CriticalPathNodePriority;
+import com.example.pixel.graph_execution.executor.TopologicalNodePriority;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.service.NodeDurationEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Simulated makespan of list scheduling with a fixed number of workers on random DAGs,
+ * comparing critical-path priority against plain topological dispatch order.
+ */
+class CriticalPathSchedulingBenchmarkTest {
+
+    private static final Map<String, Double> TYPE_DURATIONS = Map.of(
+            "string", 5.0,
+            "floor", 5.0,
+            "vector2d", 5.0,
+            "blur", 80.0,
+            "resize", 60.0,
+            "mobilenet_classify", 400.0
+    );
+    private static final List<String> TYPES = List.copyOf(new TreeSet<>(TYPE_DURATIONS.keySet()));
+
+    private static final int GRAPHS = 40;
+    private static final int NODES = 200;
+    private static final int MAX_INPUTS = 3;
+
+    @Test
+    void criticalPathPriority_shouldNotIncreaseMakespan() {
+        NodeDurationEstimator estimator = mock(NodeDurationEstimator.class);
+        ToDoubleFunction<String> durations = TYPE_DURATIONS::get;
+        when(estimator.snapshot()).thenReturn(durations);
+
+        System.out.println("\n=== Benchmark: Makespan (ms), critical path vs topological order ===");
+        System.out.printf("  %-8s %-12s %-14s %-8s%n", "workers", "topological", "critical-path", "gain");
+
+        for (int workers : new int[]{2, 4, 8}) {
+            Random random = new Random(42);
+            double topologicalTotal = 0;
+            double criticalPathTotal = 0;
+
+            for (int i = 0; i < GRAPHS; i++) {
+                Graph graph = new Graph(randomDag(random));
+                Map<Long, Double> actualDurations = sampleDurations(graph, random);
+
+                topologicalTotal += simulate(graph, new TopologicalNodePriority().comparator(graph), actualDurations, workers);
+                criticalPathTotal += simulate(graph, new CriticalPathNodePriority(estimator).comparator(graph), actualDurations, workers);
+            }
+
+            System.out.printf("  %-8d %-12.0f %-14.0f %.1f%%%n",
+                    workers,
+                    topologicalTotal / GRAPHS,
+                    criticalPathTotal / GRAPHS,
+                    100 * (1 - criticalPathTotal / topologicalTotal));
+
+            assertTrue(criticalPathTotal <= topologicalTotal);
+        }
+    }
+
+    private GraphDto randomDag(Random random) {
+        List<Node> nodes = new ArrayList<>();
+        for (long id = 0; id < NODES; id++) {
+            Map<String, Object> inputs = new HashMap<>();
+            int inputCount = id == 0 ? 0 : random.nextInt((int) Math.min(id, MAX_INPUTS) + 1);
+            for (int j = 0; j < inputCount; j++) {
+                inputs.put("input_" + j, "@node:" + random.nextInt((int) id) + ":output");
+            }
+            nodes.add(new Node(id, TYPES.get(random.nextInt(TYPES.size())), inputs));
+        }
+        return new GraphDto("benchmark", null, nodes, null, null);
+    }
+
+    private Map<Long, Double> sampleDurations(Graph graph, Random random) {
+        // Actual run times deviate from the historical average by up to 30%
+        Map<Long, Double> durations = new HashMap<>();
+        for (Node node : graph.getNodes()) {
+            double jitter = 0.7 + 0.6 * random.nextDouble();
+            durations.put(node.getId(), TYPE_DURATIONS.get(node.getType()) * jitter);
+        }
+        return durations;
+    }
+
+    private double simulate(Graph graph, Comparator<Node> priority, Map<Long, Double> durations, int workers) {
+        Map<Long, Integer> pendingDependencies = new HashMap<>();
+        PriorityQueue<Node> ready = new PriorityQueue<>(priority);
+        for (Node node : graph.getNodes()) {
+            pendingDependencies.put(node.getId(), graph.getDependencyCount(node.getId()));
+            if (graph.getDependencyCount(node.getId()) == 0) {
+                ready.add(node);
+            }
+        }
+
+        PriorityQueue<Map.Entry<Double, Node>> running = new PriorityQueue<>(Map.Entry.comparingByKey());
+        double now = 0;
+
+        while (true) {
+            while (!ready.isEmpty() && running.size() < workers) {
+                Node node = ready.poll();
+                running.add(Map.entry(now + durations.get(node.getId()), node));
+            }
+            if (running.isEmpty()) break;
+
+            Map.Entry<Double, Node> finished = running.poll();
+            now = finished.getKey();
+            for (Node dependent : graph.getDependents(finished.getValue().getId())) {
+                if (pendingDependencies.merge(dependent.getId(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        return now;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.common.exception.GraphExecutionException;
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph.dto.FailurePolicy;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.service.ExecutionPlanCache;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.executor.DataflowGraphExecutor;
+import com.example.pixel.graph_execution.executor.TopologicalNodePriority;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
+import com.example.pixel.graph_execution.service.GraphExecutionService;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.executor.NodeExecutor;
+import com.example.pixel.node_execution.model.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataflowGraphExecutorTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+
+    @Mock
+    private GraphExecutionService graphExecutionService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final List<Long> finished = Collections.synchronizedList(new ArrayList<>());
+    private GraphExecutionDto graphExecutionDto;
+    private ExecutionProgressTracker progressTracker;
+
+    @BeforeEach
+    void setup() {
+        graphExecutionDto = new GraphExecutionDto();
+        graphExecutionDto.setId(GRAPH_EXECUTION_ID);
+        progressTracker = new ExecutionProgressTracker(graphExecutionService, notificationService, 1000, 10, 250);
+    }
+
+    @Test
+    void launchExecution_shouldStartDependentBeforeSlowSiblingFinishes() {
+        // 1 is slow; 3 only depends on the fast node 2 and must not wait for 1
+        GraphDto graphDto = new GraphDto("dataflow", null, List.of(
+                new Node(1L, "slow", Map.of()),
+                new Node(2L, "fast", Map.of()),
+                new Node(3L, "fast", Map.of("input", "@node:2:output")),
+                new Node(4L, "fast", Map.of("a", "@node:1:output", "b", "@node:3:output"))
+        ), null, null);
+
+        NodeExecutor nodeExecutor = delayedExecutor(Map.of(1L, 300L));
+        DataflowGraphExecutor executor = new DataflowGraphExecutor(
+                nodeExecutor, graphExecutionService, new ExecutionPlanCache(16), notificationService, progressTracker, pool, new TopologicalNodePriority(), 0, null, null
+        );
+
+        executor.launchExecution(graphDto, graphExecutionDto).join();
+
+        assertEquals(List.of(2L, 3L, 1L, 4L), finished);
+        verify(graphExecutionService).updateStatus(GRAPH_EXECUTION_ID, GraphExecutionStatus.COMPLETED);
+        verify(graphExecutionService).incrementProgress(GRAPH_EXECUTION_ID, 4);
+    }
+
+    @Test
+    void launchExecution_shouldNotLaunchDependentsOfFailedNode() {
+        GraphDto graphDto = new GraphDto("dataflow", null, List.of(
+                new Node(1L, "failing", Map.of()),
+                new Node(2L, "fast", Map.of("input", "@node:1:output"))
+        ), null, null);
+
+        NodeExecutor nodeExecutor = (node, graphExecutionId) -> {
+            if (node.getId() == 1L) {
+                return CompletableFuture.failedFuture(new NodeExecutionException("boom"));
+            }
+            finished.add(node.getId());
+            return CompletableFuture.completedFuture(new NodeExecutionDto());
+        };
+        DataflowGraphExecutor executor = new DataflowGraphExecutor(
+                nodeExecutor, graphExecutionService, new ExecutionPlanCache(16), notificationService, progressTracker, pool, new TopologicalNodePriority(), 0, null, null
+        );
+
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> executor.launchExecution(graphDto, graphExecutionDto).join()
+        );
+
+        assertInstanceOf(GraphExecutionException.class, exception.getCause());
+        assertTrue(finished.isEmpty());
+        verify(graphExecutionService).markFailed(eq(GRAPH_EXECUTION_ID), anyString());
+        verify(graphExecutionService, never()).updateStatus(GRAPH_EXECUTION_ID, GraphExecutionStatus.COMPLETED);
+    }
+
+    @Test
+    void launchExecution_shouldKeepRunningIndependentBranchesWhenContinuing() {
+        // 2 depends on the failing node 1 and is skipped; 3 and 4 do not and still run
+        GraphDto graphDto = new GraphDto("dataflow", null, List.of(
+                new Node(1L, "failing", Map.of()),
+                new Node(2L, "fast", Map.of("input", "@node:1:output")),
+                new Node(3L, "fast", Map.of()),
+                new Node(4L, "fast", Map.of("input", "@node:3:output"))
+        ), FailurePolicy.CONTINUE_INDEPENDENT, null);
+
+        NodeExecutor nodeExecutor = (node, graphExecutionId) -> {
+            if (node.getId() == 1L) {
+                return CompletableFuture.failedFuture(new NodeExecutionException("boom"));
+            }
+            finished.add(node.getId());
+            return CompletableFuture.completedFuture(new NodeExecutionDto());
+        };
+        DataflowGraphExecutor executor = new DataflowGraphExecutor(
+                nodeExecutor, graphExecutionService, new ExecutionPlanCache(16), notificationService, progressTracker, pool, new TopologicalNodePriority(), 0, null, null
+        );
+
+        executor.launchExecution(graphDto, graphExecutionDto).join();
+
+        assertEquals(List.of(3L, 4L), finished);
+        verify(graphExecutionService).markPartial(eq(GRAPH_EXECUTION_ID), contains("node 1: boom"));
+        verify(graphExecutionService, never()).markFailed(anyLong(), anyString());
+        verify(graphExecutionService, never()).updateStatus(GRAPH_EXECUTION_ID, GraphExecutionStatus.COMPLETED);
+    }
+
+    private NodeExecutor delayedExecutor(Map<Long, Long> delays) {
+        return (node, graphExecutionId) -> CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(delays.getOrDefault(node.getId(), 10L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.add(node.getId());
+            return new NodeExecutionDto();
+        }, pool);
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.config.TestCacheConfig;
+import com.example.pixel.graph.dto.CreateGraphRequest;
+import com.example.pixel.graph.dto.FailurePolicy;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.node.dto.NodeConfigurationRequest;
+import com.example.pixel.node_execution.cache.NodeCache;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.util.StatementCounter;
+import com.example.pixel.util.StubNodeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Boots the engine against {@link StubNodeService} and drives {@code POST /v1/graph/{id}}
+ * at a fixed rate, so engine overhead can be measured apart from the Python node service.
+ * For each graph execution mode it reports graphs and nodes per second, p50/p99 latency
+ * from the scheduled submission to the terminal status, and database statements and
+ * node cache calls per node. Statements are counted on the {@code DataSource}, so those
+ * issued through {@code JdbcTemplate} are included and a JDBC batch counts once. Run
+ * with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import({TestCacheConfig.class, StatementCounter.class})
+@ActiveProfiles("test")
+class EngineThroughputLoadTest {
+
+    private static final String NODE_TYPE = "load";
+    private static final int GRAPHS = 8;
+    private static final int NODES_PER_GRAPH = 20;
+    private static final int CONSTANT_INPUT_ODDS = 4;
+    private static final int EXECUTIONS = 200;
+    private static final double TARGET_GRAPHS_PER_SECOND = 20;
+    private static final double MEDIAN_NODE_LATENCY_MS = 5;
+    private static final double NODE_LATENCY_SIGMA = 0.5;
+    private static final int OUTPUT_BYTES = 1024;
+
+    private static final StubNodeService stub = startStub();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("node.service.url", stub::url);
+        registry.add("execution.admission.max-running-per-graph", () -> "50");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Nested
+    @TestPropertySource(properties = "execution.graph.mode=sync")
+    class Sync extends Scenario {}
+
+    @Nested
+    @TestPropertySource(properties = "execution.graph.mode=async")
+    class Async extends Scenario {}
+
+    @Nested
+    @TestPropertySource(properties = "execution.graph.mode=level")
+    class Level extends Scenario {}
+
+    abstract class Scenario {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private StatementCounter statementCounter;
+
+        @MockitoSpyBean
+        private NotificationService notificationService;
+
+        @MockitoSpyBean
+        private NodeCache nodeCache;
+
+        @Value("${execution.graph.mode}")
+        private String mode;
+
+        private final Map<Long, CompletableFuture<GraphExecutionDto>> completions = new ConcurrentHashMap<>();
+
+        @BeforeEach
+        void setup() {
+            doAnswer(invocation -> {
+                invocation.callRealMethod();
+                GraphExecutionDto execution = invocation.getArgument(0);
+                if (isTerminal(execution.getStatus())) {
+                    completion(execution.getId()).complete(execution);
+                }
+                return null;
+            }).when(notificationService).sendTaskStatus(any());
+
+            restTemplate.postForEntity("/v1/node", new NodeConfigurationRequest(
+                    NODE_TYPE,
+                    Map.of("input", Map.of("type", "STRING", "required", false)),
+                    Map.of("output", Map.of("type", "STRING")),
+                    Map.of(),
+                    Map.of()
+            ), Object.class);
+
+            Random random = new Random(42);
+            for (int graph = 0; graph < GRAPHS; graph++) {
+                ResponseEntity<Object> response = restTemplate.postForEntity("/v1/graph", new CreateGraphRequest(
+                        graphId(graph), null, randomDag(random), FailurePolicy.FAIL_FAST
+                ), Object.class);
+                assertTrue(response.getStatusCode().is2xxSuccessful(), "Graph rejected: " + response.getBody());
+            }
+        }
+
+        @Test
+        void throughput() throws Exception {
+            // Warm up the JIT, connection pools and the compiled graph cache
+            run(GRAPHS * 4);
+
+            statementCounter.clear();
+            clearInvocations(nodeCache);
+
+            Result result = run(EXECUTIONS);
+            long statements = statementCounter.count();
+            long cacheCalls = mockingDetails(nodeCache).getInvocations().size();
+            double nodes = (double) EXECUTIONS * NODES_PER_GRAPH;
+
+            System.out.printf("%n=== Engine throughput, mode %s: %d graphs of %d nodes at %.0f graphs/s, %.0fms median node latency ===%n",
+                    mode, EXECUTIONS, NODES_PER_GRAPH, TARGET_GRAPHS_PER_SECOND, MEDIAN_NODE_LATENCY_MS);
+            System.out.printf("  %-10s %-10s %-10s %-10s %-14s %-14s%n",
+                    "graphs/s", "nodes/s", "p50 (ms)", "p99 (ms)", "DB stmts/node", "cache/node");
+            System.out.printf("  %-10.1f %-10.1f %-10d %-10d %-14.2f %-14.2f%n",
+                    EXECUTIONS / result.seconds(), nodes / result.seconds(), result.p50(), result.p99(),
+                    statements / nodes, cacheCalls / nodes);
+
+            assertEquals(EXECUTIONS, result.completed());
+        }
+
+        /**
+         * Submits {@code executions} graph runs on an open-loop schedule and waits for all
+         * of them. Latency is measured from the scheduled submission time, so a stalled
+         * engine shows up in the percentiles instead of slowing down the load.
+         */
+        private Result run(int executions) throws Exception {
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / TARGET_GRAPHS_PER_SECOND);
+            long[] latencies = new long[executions];
+            List<CompletableFuture<GraphExecutionDto>> futures = new ArrayList<>(executions);
+
+            long start = System.nanoTime();
+            try (ExecutorService submitters = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < executions; i++) {
+                    long scheduledAt = start + i * intervalNanos;
+                    long delay = scheduledAt - System.nanoTime();
+                    if (delay > 0) TimeUnit.NANOSECONDS.sleep(delay);
+
+                    int index = i;
+                    String graphId = graphId(i % GRAPHS);
+                    futures.add(CompletableFuture
+                            .supplyAsync(() -> submit(graphId), submitters)
+                            .thenCompose(this::completion)
+                            .whenComplete((execution, error) -> latencies[index] = System.nanoTime() - scheduledAt));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            int completed = 0;
+            for (CompletableFuture<GraphExecutionDto> future : futures) {
+                if (future.get().getStatus() == GraphExecutionStatus.COMPLETED) completed++;
+            }
+            Arrays.sort(latencies);
+            return new Result(seconds, completed, percentileMs(latencies, 0.50), percentileMs(latencies, 0.99));
+        }
+
+        private Long submit(String graphId) {
+            ResponseEntity<GraphExecutionDto> response = restTemplate.postForEntity("/v1/graph/{id}", null, GraphExecutionDto.class, graphId);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            return Objects.requireNonNull(response.getBody()).getId();
+        }
+
+        private CompletableFuture<GraphExecutionDto> completion(Long graphExecutionId) {
+            return completions.computeIfAbsent(graphExecutionId, id -> new CompletableFuture<>());
+        }
+
+        private String graphId(int graph) {
+            return "load-" + mode + "-" + graph;
+        }
+    }
+
+    private record Result(double seconds, int completed, long p50, long p99) {}
+
+    private static StubNodeService startStub() {
+        try {
+            return new StubNodeService()
+                    .handle(NODE_TYPE, StubNodeService.output(OUTPUT_BYTES))
+                    // Log-normal node run times: most calls near the median, a long tail
+                    .latency(() -> Math.round(MEDIAN_NODE_LATENCY_MS
+                            * Math.exp(ThreadLocalRandom.current().nextGaussian() * NODE_LATENCY_SIGMA)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Random DAG in which every node reads the output of a random earlier node, except
+     * the first and about one in {@value CONSTANT_INPUT_ODDS} of the others, which read a
+     * constant and start new branches.
+     */
+    private static List<Node> randomDag(Random random) {
+        List<Node> nodes = new ArrayList<>(NODES_PER_GRAPH);
+        for (long id = 0; id < NODES_PER_GRAPH; id++) {
+            Object input = id == 0 || random.nextInt(CONSTANT_INPUT_ODDS) == 0
+                    ? "constant"
+                    : "@node:" + random.nextInt((int) id) + ":output";
+            nodes.add(new Node(id, NODE_TYPE, Map.of("input", input)));
+        }
+        return nodes;
+    }
+
+    private static boolean isTerminal(GraphExecutionStatus status) {
+        return status == GraphExecutionStatus.COMPLETED
+                || status == GraphExecutionStatus.PARTIAL
+                || status == GraphExecutionStatus.FAILED
+                || status == GraphExecutionStatus.CANCELLED;
+    }
+
+    private static long percentileMs(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(index, 0)]);
+    }
+}
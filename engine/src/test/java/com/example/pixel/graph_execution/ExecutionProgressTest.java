@@ -0,0 +1,116 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.service.ExecutionProgress;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
+import com.example.pixel.graph_execution.service.GraphExecutionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionProgressTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+
+    @Mock
+    private GraphExecutionService graphExecutionService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Test
+    void advance_shouldPersistOncePerStepAndNotifyAtBoundedRate() {
+        ExecutionProgress progress = tracker(10).start(execution(100));
+
+        for (int i = 0; i < 100; i++) {
+            progress.advance(1);
+        }
+
+        verify(graphExecutionService, times(10)).incrementProgress(GRAPH_EXECUTION_ID, 10);
+        verify(graphExecutionService, never()).findById(any());
+
+        // The first completion is published right away, the others within the hour are coalesced
+        ArgumentCaptor<GraphExecutionDto> notification = ArgumentCaptor.forClass(GraphExecutionDto.class);
+        verify(notificationService).sendTaskStatus(notification.capture());
+        assertEquals(1, notification.getValue().getProcessedNodes());
+        assertEquals(GraphExecutionStatus.RUNNING, notification.getValue().getStatus());
+    }
+
+    @Test
+    void flush_shouldWriteExactCountAfterConcurrentCompletions() throws Exception {
+        ExecutionProgress progress = tracker(50).start(execution(8_000));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) progress.advance(1);
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        pool.shutdown();
+
+        progress.flush();
+
+        assertEquals(8_000, progress.getProcessedNodes());
+        ArgumentCaptor<Integer> increments = ArgumentCaptor.forClass(Integer.class);
+        verify(graphExecutionService, atMost(2)).incrementProgress(eq(GRAPH_EXECUTION_ID), increments.capture());
+        assertEquals(8_000, increments.getAllValues().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void flush_shouldSkipWriteWhenCountIsAlreadyStored() {
+        ExecutionProgress progress = tracker(50).start(execution(4));
+
+        progress.advance(2);
+        progress.flush();
+        progress.flush();
+
+        verify(graphExecutionService, times(1)).incrementProgress(GRAPH_EXECUTION_ID, 2);
+    }
+
+    @Test
+    void flush_shouldOnlyAddNodesBeyondThoseStoredBeforeResume() {
+        GraphExecutionDto resumed = execution(10);
+        resumed.setProcessedNodes(6);
+        ExecutionProgress progress = tracker(50).start(resumed);
+
+        // Checkpointed nodes complete again without being counted twice
+        progress.advance(6);
+        progress.flush();
+        verify(graphExecutionService, never()).incrementProgress(anyLong(), anyInt());
+
+        progress.advance(4);
+        progress.flush();
+        verify(graphExecutionService).incrementProgress(GRAPH_EXECUTION_ID, 4);
+    }
+
+    private ExecutionProgressTracker tracker(int persistStepPercent) {
+        // Intervals long enough that only the step triggers writes
+        return new ExecutionProgressTracker(graphExecutionService, notificationService, 3_600_000, persistStepPercent, 3_600_000);
+    }
+
+    private GraphExecutionDto execution(int totalNodes) {
+        GraphExecutionDto graphExecutionDto = new GraphExecutionDto();
+        graphExecutionDto.setId(GRAPH_EXECUTION_ID);
+        graphExecutionDto.setTotalNodes(totalNodes);
+        return graphExecutionDto;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.common.exception.ExecutionQueueFullException;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.executor.GraphExecutor;
+import com.example.pixel.graph_execution.service.GraphExecutionDispatcher;
+import com.example.pixel.graph_execution.service.GraphExecutionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GraphExecutionDispatcherTest {
+
+    @Mock
+    private GraphExecutionService graphExecutionService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final CancellationRegistry cancellationRegistry = new CancellationRegistry();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> launched = new ArrayList<>();
+    private final Deque<CompletableFuture<GraphExecutionDto>> running = new ArrayDeque<>();
+    private long nextExecutionId = 1;
+
+    private final GraphExecutor graphExecutor = (graphDto, graphExecutionDto) -> {
+        launched.add(graphDto.getId());
+        CompletableFuture<GraphExecutionDto> future = new CompletableFuture<>();
+        running.add(future);
+        return future;
+    };
+
+    @Test
+    void submit_shouldQueueBeyondGlobalAndPerGraphLimits() {
+        GraphExecutionDispatcher dispatcher = dispatcher(2, 1, 10, Map.of());
+
+        submit(dispatcher, "a");
+        submit(dispatcher, "a");
+        submit(dispatcher, "a");
+        submit(dispatcher, "b");
+
+        assertEquals(List.of("a", "b"), launched);
+        assertEquals(2, gauge("pixel.graph.admission.running"));
+        assertEquals(2, gauge("pixel.graph.admission.queued"));
+
+        running.poll().complete(null);
+
+        assertEquals(List.of("a", "b", "a"), launched);
+        assertEquals(1, gauge("pixel.graph.admission.queued"));
+    }
+
+    @Test
+    void submit_shouldShareSlotsByWeight() {
+        GraphExecutionDispatcher dispatcher = dispatcher(1, 1, 100, Map.of("a", 2));
+
+        for (int i = 0; i < 12; i++) {
+            submit(dispatcher, "a");
+            submit(dispatcher, "b");
+        }
+        launched.clear();
+
+        for (int i = 0; i < 12; i++) {
+            running.poll().complete(null);
+        }
+
+        long launchedA = launched.stream().filter("a"::equals).count();
+        assertEquals(12, launched.size());
+        assertTrue(launchedA >= 7 && launchedA <= 8, "graph a should get about two thirds of the slots: " + launched);
+    }
+
+    @Test
+    void submit_shouldFailExecutionWhenQueueIsFull() {
+        GraphExecutionDispatcher dispatcher = dispatcher(1, 1, 1, Map.of());
+
+        submit(dispatcher, "a");
+        submit(dispatcher, "a");
+
+        assertThrows(ExecutionQueueFullException.class, () -> submit(dispatcher, "a"));
+        verify(graphExecutionService).markFailed(eq(3L), anyString());
+        assertEquals(List.of("a"), launched);
+    }
+
+    @Test
+    void cancel_shouldDropQueuedExecution() {
+        GraphExecutionDispatcher dispatcher = dispatcher(1, 1, 10, Map.of());
+        GraphExecutionDto pending = new GraphExecutionDto();
+        pending.setId(2L);
+        pending.setStatus(GraphExecutionStatus.PENDING);
+        when(graphExecutionService.findById(2L)).thenReturn(pending);
+        when(graphExecutionService.markCancelled(2L)).thenReturn(true);
+
+        submit(dispatcher, "a");
+        submit(dispatcher, "a");
+        dispatcher.cancel(2L);
+
+        verify(graphExecutionService).markCancelled(2L);
+        assertEquals(0, gauge("pixel.graph.admission.queued"));
+
+        running.poll().complete(null);
+        assertEquals(List.of("a"), launched);
+    }
+
+    @Test
+    void cancel_shouldFlagRunningExecutionUntilItIsReleased() {
+        GraphExecutionDispatcher dispatcher = dispatcher(1, 1, 10, Map.of());
+        when(graphExecutionService.findById(1L)).thenReturn(execution(1L, GraphExecutionStatus.RUNNING));
+        when(graphExecutionService.markCancelled(1L)).thenReturn(true);
+
+        submit(dispatcher, "a");
+        dispatcher.cancel(1L);
+
+        assertTrue(cancellationRegistry.isCancelled(1L));
+        running.poll().complete(null);
+        assertFalse(cancellationRegistry.isCancelled(1L));
+    }
+
+    @Test
+    void cancel_shouldNotFlagExecutionWhoseRunWasAlreadyReleased() {
+        GraphExecutionDispatcher dispatcher = dispatcher(1, 1, 10, Map.of());
+        // The run finishes after cancel read the status but before it flags the execution
+        when(graphExecutionService.findById(1L)).thenReturn(execution(1L, GraphExecutionStatus.RUNNING));
+        when(graphExecutionService.markCancelled(1L)).thenAnswer(invocation -> {
+            running.poll().complete(null);
+            return true;
+        });
+
+        submit(dispatcher, "a");
+        dispatcher.cancel(1L);
+
+        assertFalse(cancellationRegistry.isCancelled(1L));
+    }
+
+    @Test
+    void isActive_shouldHoldExecutionUntilItsRunIsReleased() {
+        GraphExecutionDispatcher dispatcher = dispatcher(1, 1, 10, Map.of());
+
+        submit(dispatcher, "a");
+        submit(dispatcher, "a");
+
+        assertTrue(dispatcher.isActive(1L));
+        assertTrue(dispatcher.isActive(2L));
+        running.poll().complete(null);
+
+        assertFalse(dispatcher.isActive(1L));
+        assertTrue(dispatcher.isActive(2L));
+    }
+
+    private int gauge(String name) {
+        return (int) meterRegistry.get(name).gauge().value();
+    }
+
+    private GraphExecutionDispatcher dispatcher(int maxRunning, int maxRunningPerGraph, int queueCapacity, Map<String, Integer> weights) {
+        return new GraphExecutionDispatcher(
+                graphExecutor,
+                graphExecutionService,
+                notificationService,
+                cancellationRegistry,
+                meterRegistry,
+                maxRunning,
+                maxRunningPerGraph,
+                queueCapacity,
+                weights
+        );
+    }
+
+    private GraphExecutionDto execution(Long id, GraphExecutionStatus status) {
+        GraphExecutionDto graphExecutionDto = new GraphExecutionDto();
+        graphExecutionDto.setId(id);
+        graphExecutionDto.setStatus(status);
+        return graphExecutionDto;
+    }
+
+    private void submit(GraphExecutionDispatcher dispatcher, String graphId) {
+        GraphExecutionDto graphExecutionDto = new GraphExecutionDto();
+        graphExecutionDto.setId(nextExecutionId++);
+        dispatcher.submit(new GraphDto(graphId, null, List.of(), null, null), graphExecutionDto);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.common.exception.InvalidGraphExecutionStateException;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.service.GraphService;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.service.GraphExecutionDispatcher;
+import com.example.pixel.graph_execution.service.GraphExecutionRecoveryService;
+import com.example.pixel.graph_execution.service.GraphExecutionService;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GraphExecutionRecoveryServiceTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 7L;
+
+    @Mock
+    private GraphService graphService;
+
+    @Mock
+    private GraphExecutionService graphExecutionService;
+
+    @Mock
+    private GraphExecutionDispatcher graphExecutionDispatcher;
+
+    @Mock
+    private NodeExecutionService nodeExecutionService;
+
+    @InjectMocks
+    private GraphExecutionRecoveryService recoveryService;
+
+    @Test
+    void resume_shouldRestoreCompletedNodesAndRequeue() {
+        GraphDto graphDto = new GraphDto("graph", null, List.of(
+                new Node(1L, "string", Map.of()),
+                new Node(2L, "resize", Map.of("input", "@node:1:output")),
+                new Node(3L, "output", Map.of("input", "@node:2:output"))
+        ), null, null);
+        GraphExecutionDto failed = execution(GraphExecutionStatus.FAILED);
+        when(graphExecutionService.findById(GRAPH_EXECUTION_ID)).thenReturn(failed);
+        when(graphService.findById("graph")).thenReturn(graphDto);
+        when(graphExecutionService.prepareResume(eq(GRAPH_EXECUTION_ID), anyCollection())).thenReturn(true);
+
+        NodeExecutionDto first = completed(1L, "string");
+        NodeExecutionDto retyped = completed(2L, "blur");
+        when(nodeExecutionService.findCompleted(GRAPH_EXECUTION_ID)).thenReturn(List.of(first, retyped));
+
+        recoveryService.resume(GRAPH_EXECUTION_ID);
+
+        verify(nodeExecutionService).failRunning(eq(GRAPH_EXECUTION_ID), anyString());
+        verify(nodeExecutionService).restore(first);
+        verify(nodeExecutionService, never()).restore(retyped);
+        verify(graphExecutionService).incrementProgress(GRAPH_EXECUTION_ID, 1);
+
+        ArgumentCaptor<GraphDto> submitted = ArgumentCaptor.forClass(GraphDto.class);
+        verify(graphExecutionDispatcher).submit(submitted.capture(), any());
+        assertEquals("graph", submitted.getValue().getId());
+    }
+
+    @Test
+    void resume_shouldRejectCompletedExecution() {
+        when(graphExecutionService.findById(GRAPH_EXECUTION_ID)).thenReturn(execution(GraphExecutionStatus.COMPLETED));
+
+        assertThrows(InvalidGraphExecutionStateException.class, () -> recoveryService.resume(GRAPH_EXECUTION_ID));
+        verifyNoInteractions(graphExecutionDispatcher);
+    }
+
+    @Test
+    void resume_shouldRejectExecutionWhosePreviousRunIsStillActive() {
+        when(graphExecutionService.findById(GRAPH_EXECUTION_ID)).thenReturn(execution(GraphExecutionStatus.CANCELLED));
+        when(graphExecutionDispatcher.isActive(GRAPH_EXECUTION_ID)).thenReturn(true);
+
+        assertThrows(InvalidGraphExecutionStateException.class, () -> recoveryService.resume(GRAPH_EXECUTION_ID));
+        verify(graphExecutionService, never()).prepareResume(any(), anyCollection());
+        verify(graphExecutionDispatcher, never()).submit(any(), any());
+    }
+
+    @Test
+    void resume_shouldNotSubmitWhenConcurrentResumeClaimedExecution() {
+        when(graphExecutionService.findById(GRAPH_EXECUTION_ID))
+                .thenReturn(execution(GraphExecutionStatus.FAILED), execution(GraphExecutionStatus.PENDING));
+        when(graphService.findById("graph")).thenReturn(new GraphDto("graph", null, List.of(), null, null));
+        when(graphExecutionService.prepareResume(eq(GRAPH_EXECUTION_ID), anyCollection())).thenReturn(false);
+
+        assertThrows(InvalidGraphExecutionStateException.class, () -> recoveryService.resume(GRAPH_EXECUTION_ID));
+        verifyNoInteractions(nodeExecutionService);
+        verify(graphExecutionDispatcher, never()).submit(any(), any());
+    }
+
+    private GraphExecutionDto execution(GraphExecutionStatus status) {
+        GraphExecutionDto graphExecutionDto = new GraphExecutionDto();
+        graphExecutionDto.setId(GRAPH_EXECUTION_ID);
+        graphExecutionDto.setGraphId("graph");
+        graphExecutionDto.setStatus(status);
+        return graphExecutionDto;
+    }
+
+    private NodeExecutionDto completed(Long nodeId, String type) {
+        NodeExecutionDto nodeExecutionDto = new NodeExecutionDto();
+        nodeExecutionDto.setGraphExecutionId(GRAPH_EXECUTION_ID);
+        nodeExecutionDto.setNodeId(nodeId);
+        nodeExecutionDto.setNodeType(type);
+        nodeExecutionDto.setStatus(NodeStatus.COMPLETED);
+        return nodeExecutionDto;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.pixel.graph_execution;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.common.service.NotificationService;
+import com.example.pixel.graph.dto.FailurePolicy;
+import com.example.pixel.graph.dto.GraphDto;
+import com.example.pixel.graph.service.ExecutionPlanCache;
+import com.example.pixel.graph_execution.dto.GraphExecutionDto;
+import com.example.pixel.graph_execution.dto.GraphExecutionStatus;
+import com.example.pixel.graph_execution.executor.SyncGraphExecutor;
+import com.example.pixel.graph_execution.service.ExecutionProgressTracker;
+import com.example.pixel.graph_execution.service.GraphExecutionService;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.executor.NodeExecutor;
+import com.example.pixel.node_execution.model.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncGraphExecutorTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+
+    @Mock
+    private GraphExecutionService graphExecutionService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final List<Long> finished = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void launchExecution_shouldSkipOnlyDependentsOfFailedNode() {
+        // 2 and its dependent 5 wait on the failing node 1; 3 and 4 are independent of it
+        GraphDto graphDto = new GraphDto("sync", null, List.of(
+                new Node(1L, "failing", Map.of()),
+                new Node(2L, "fast", Map.of("input", "@node:1:output")),
+                new Node(3L, "fast", Map.of()),
+                new Node(4L, "fast", Map.of("input", "@node:3:output")),
+                new Node(5L, "fast", Map.of("input", "@node:2:output"))
+        ), FailurePolicy.CONTINUE_INDEPENDENT, null);
+        GraphExecutionDto graphExecutionDto = new GraphExecutionDto();
+        graphExecutionDto.setId(GRAPH_EXECUTION_ID);
+
+        NodeExecutor nodeExecutor = (node, graphExecutionId) -> {
+            if (node.getId() == 1L) {
+                return CompletableFuture.failedFuture(new NodeExecutionException("boom"));
+            }
+            finished.add(node.getId());
+            return CompletableFuture.completedFuture(new NodeExecutionDto());
+        };
+        SyncGraphExecutor executor = new SyncGraphExecutor(
+                nodeExecutor, graphExecutionService, new ExecutionPlanCache(16), notificationService, progressTracker()
+        );
+
+        executor.launchExecution(graphDto, graphExecutionDto).join();
+
+        assertEquals(List.of(3L, 4L), finished);
+        verify(graphExecutionService).markPartial(eq(GRAPH_EXECUTION_ID), contains("1 node(s) failed, 2 skipped: node 1: boom"));
+        verify(graphExecutionService, never()).markFailed(anyLong(), anyString());
+        verify(graphExecutionService, never()).updateStatus(GRAPH_EXECUTION_ID, GraphExecutionStatus.COMPLETED);
+    }
+
+    private ExecutionProgressTracker progressTracker() {
+        return new ExecutionProgressTracker(graphExecutionService, notificationService, 1000, 10, 250);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.pixel.node;
 import com.example.pixel.node_execution.cache.NodeCache;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,6 +20,11 @@ public class InMemoryNodeCache implements NodeCache {
         log.debug("Stored data in memory cache with key: {}", key);
     }
 
+    @Override
+    public void put(String key, Map<String, Object> data, Duration ttl) {
+        put(key, data);
+    }
+
     @Override
     public Map<String, Object> get(String key) {
         Map<String, Object> result = cache.get(key);
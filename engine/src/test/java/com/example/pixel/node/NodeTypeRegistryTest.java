@@ -0,0 +1,95 @@
+package com.example.pixel.node;
+
+import com.example.pixel.node.dto.NodeConfigurationDto;
+import com.example.pixel.node.entity.NodeConfigurationEntity;
+import com.example.pixel.node.mapper.NodeMapper;
+import com.example.pixel.node.repository.NodeRepository;
+import com.example.pixel.node.service.NodeTypeRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NodeTypeRegistryTest {
+
+    private final NodeRepository repository = mock(NodeRepository.class);
+    private final NodeMapper nodeMapper = mock(NodeMapper.class);
+    private final List<NodeConfigurationEntity> active = new ArrayList<>();
+
+    private NodeTypeRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        when(repository.findByActiveTrue()).thenAnswer(invocation -> List.copyOf(active));
+        when(repository.findMaxId()).thenAnswer(invocation -> active.stream().map(NodeConfigurationEntity::getId).max(Long::compare));
+        when(nodeMapper.toDto(any())).thenAnswer(invocation -> {
+            NodeConfigurationEntity entity = invocation.getArgument(0);
+            return configuration(entity.getId(), entity.getType(), entity.getVersion(), entity.getInputs());
+        });
+        active.add(entity(1L, "blur", 1, Map.of("input", Map.of(), "ksize", Map.of())));
+
+        registry = new NodeTypeRegistry(repository, nodeMapper);
+    }
+
+    @Test
+    void lookups_shouldLoadOnceAndThenStayInMemory() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Set.of("input", "ksize"), registry.inputNames("blur").orElseThrow());
+            assertTrue(registry.find("resize").isEmpty());
+        }
+
+        verify(repository, times(1)).findByActiveTrue();
+        assertEquals(1, registry.getAll().size());
+    }
+
+    @Test
+    void register_shouldReplaceTypeWithoutQuerying() {
+        registry.find("blur");
+
+        registry.register(configuration(2L, "blur", 2, Map.of("input", Map.of())));
+        registry.register(configuration(3L, "resize", 1, Map.of("width", Map.of())));
+
+        assertEquals(2, registry.find("blur").orElseThrow().getVersion());
+        assertEquals(Set.of("width"), registry.inputNames("resize").orElseThrow());
+        verify(repository, times(1)).findByActiveTrue();
+    }
+
+    @Test
+    void refreshIfChanged_shouldReloadOnlyWhenAnotherVersionWasSaved() {
+        registry.find("blur");
+
+        registry.refreshIfChanged();
+        verify(repository, times(1)).findByActiveTrue();
+
+        // Saved by another engine instance
+        active.set(0, entity(2L, "blur", 2, Map.of("input", Map.of())));
+        registry.refreshIfChanged();
+
+        verify(repository, times(2)).findByActiveTrue();
+        assertEquals(Set.of("input"), registry.inputNames("blur").orElseThrow());
+    }
+
+    private static NodeConfigurationEntity entity(Long id, String type, int version, Map<String, Object> inputs) {
+        return NodeConfigurationEntity.builder()
+                .id(id)
+                .type(type)
+                .version(version)
+                .inputs(inputs)
+                .active(true)
+                .build();
+    }
+
+    private static NodeConfigurationDto configuration(Long id, String type, int version, Map<String, Object> inputs) {
+        NodeConfigurationDto configuration = new NodeConfigurationDto();
+        configuration.setId(id);
+        configuration.setType(type);
+        configuration.setVersion(version);
+        configuration.setInputs(inputs);
+        configuration.setActive(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.integration.NodeClient;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node.InMemoryNodeCache;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.executor.BatchNodeExecutor;
+import com.example.pixel.node_execution.mapper.NodeExecutionMapper;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeExecutionPolicy;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import com.example.pixel.node_execution.service.*;
+import com.example.pixel.util.StubNodeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs batched levels through the real {@link NodeClient} against {@link StubNodeService},
+ * so the {@code /exec_batch} contract is exercised end to end.
+ */
+class BatchNodeExecutorTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+
+    private final Map<Long, NodeExecutionEntity> rows = new ConcurrentHashMap<>();
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    private Duration timeout = Duration.ofSeconds(5);
+    private StubNodeService stub;
+    private BatchNodeExecutor executor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        stub = new StubNodeService()
+                .handle("floor", inputs -> Map.of("number", Math.floor(((Number) inputs.get("number")).doubleValue())))
+                .handle("broken", inputs -> {
+                    throw new IllegalArgumentException("bad input");
+                });
+
+        NodeClient nodeClient = new NodeClient();
+        ReflectionTestUtils.setField(nodeClient, "nodeBaseUrl", stub.url());
+        ReflectionTestUtils.setField(nodeClient, "batchExecutionEndpoint", "/exec_batch");
+
+        NodeExecutionJournal journal = mock(NodeExecutionJournal.class);
+        when(journal.create(any())).thenAnswer(invocation -> {
+            NodeExecutionEntity entity = invocation.getArgument(0);
+            entity.setId(entity.getNodeId());
+            rows.put(entity.getId(), entity);
+            return entity;
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<NodeExecutionEntity>>getArgument(1).accept(rows.get(invocation.<Long>getArgument(0)));
+            return null;
+        }).when(journal).update(anyLong(), any());
+        when(journal.find(anyLong())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+
+        NodeExecutionMapper mapper = mock(NodeExecutionMapper.class);
+        when(mapper.toDto(any())).thenAnswer(invocation -> {
+            NodeExecutionEntity entity = invocation.getArgument(0);
+            NodeExecutionDto dto = new NodeExecutionDto();
+            dto.setId(entity.getId());
+            dto.setStatus(entity.getStatus());
+            dto.setOutputs(entity.getOutputs());
+            return dto;
+        });
+
+        NodeExecutionPolicyResolver policyResolver = mock(NodeExecutionPolicyResolver.class);
+        when(policyResolver.resolve(any())).thenAnswer(invocation -> new NodeExecutionPolicy(timeout, 1, false));
+
+        NodeExecutionService nodeExecutionService = new NodeExecutionService(
+                nodeClient,
+                new InMemoryNodeCache(),
+                mock(NodeExecutionRepository.class),
+                journal,
+                mapper,
+                mock(NodeResultMemoizer.class),
+                policyResolver,
+                new NodeCallRetrier(new SimpleMeterRegistry(), 1, 5, 2.0),
+                mock(NodeFanOut.class)
+        );
+        executor = new BatchNodeExecutor(nodeExecutionService, new CancellationRegistry(), pool, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void launchAll_shouldSendWholeLevelInOneRequest() throws Exception {
+        List<Node> level = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            level.add(new Node(id, "floor", new HashMap<>(Map.of("number", id + 0.5))));
+        }
+
+        List<CompletableFuture<NodeExecutionDto>> futures = executor.launchAll(level, GRAPH_EXECUTION_ID);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, stub.requests("/exec_batch"));
+        assertEquals(0, stub.requests("/exec"));
+        for (int i = 0; i < level.size(); i++) {
+            NodeExecutionDto dto = futures.get(i).get();
+            assertEquals(NodeStatus.COMPLETED, dto.getStatus());
+            assertEquals((double) (i + 1), ((Number) dto.getOutputs().get("number")).doubleValue());
+        }
+    }
+
+    @Test
+    void launchAll_shouldFailOnlyTheNodeThatFailed() throws Exception {
+        List<Node> level = List.of(
+                new Node(1L, "floor", new HashMap<>(Map.of("number", 1.5))),
+                new Node(2L, "broken", new HashMap<>(Map.of("number", 2.5))),
+                new Node(3L, "floor", new HashMap<>(Map.of("number", 3.5)))
+        );
+
+        List<CompletableFuture<NodeExecutionDto>> futures = executor.launchAll(level, GRAPH_EXECUTION_ID);
+
+        assertEquals(NodeStatus.COMPLETED, futures.get(0).get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(NodeStatus.COMPLETED, futures.get(2).get(10, TimeUnit.SECONDS).getStatus());
+        assertThrows(Exception.class, () -> futures.get(1).get(10, TimeUnit.SECONDS));
+        assertEquals(NodeStatus.FAILED, rows.get(2L).getStatus());
+        assertEquals("bad input", rows.get(2L).getErrorMessage());
+    }
+
+    @Test
+    void launchAll_shouldFailLevelWhenBatchOutlastsItsTimeout() throws Exception {
+        timeout = Duration.ofMillis(200);
+        stub.latency(2_000);
+        List<Node> level = List.of(
+                new Node(1L, "floor", new HashMap<>(Map.of("number", 1.5))),
+                new Node(2L, "floor", new HashMap<>(Map.of("number", 2.5)))
+        );
+
+        List<CompletableFuture<NodeExecutionDto>> futures = executor.launchAll(level, GRAPH_EXECUTION_ID);
+
+        for (CompletableFuture<NodeExecutionDto> future : futures) {
+            assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(NodeStatus.FAILED, rows.get(1L).getStatus());
+        assertEquals(NodeStatus.FAILED, rows.get(2L).getStatus());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.node_execution.executor.BoundedNodeTaskExecutor;
+import com.example.pixel.node_execution.executor.BoundedNodeTaskExecutor.RejectionPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedNodeTaskExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldDeferAndRetryWhenSaturated() throws Exception {
+        BoundedNodeTaskExecutor executor = executor(2, RejectionPolicy.BACK_OFF);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch thirdRan = new CountDownLatch(1);
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> await(release));
+        executor.execute(thirdRan::countDown);
+
+        assertFalse(thirdRan.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1.0, meterRegistry.get("pixel.node.executor.deferred").counter().count());
+        assertEquals(1.0, meterRegistry.get("pixel.node.executor.deferred.waiting").gauge().value());
+        assertEquals(2.0, meterRegistry.get("pixel.node.executor.in_flight").gauge().value());
+
+        release.countDown();
+        assertTrue(thirdRan.await(5, TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("pixel.node.executor.deferred.waiting").gauge().value());
+    }
+
+    @Test
+    void execute_shouldBlockSubmitterUntilSlotFrees() throws Exception {
+        BoundedNodeTaskExecutor executor = executor(1, RejectionPolicy.BLOCK);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch secondRan = new CountDownLatch(1);
+
+        executor.execute(() -> await(release));
+        Future<?> submitter = Executors.newSingleThreadExecutor().submit(() -> executor.execute(secondRan::countDown));
+
+        assertThrows(TimeoutException.class, () -> submitter.get(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        submitter.get(5, TimeUnit.SECONDS);
+        assertTrue(secondRan.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("pixel.node.executor.blocked").counter().count());
+    }
+
+    @Test
+    void rejectionPolicy_shouldParsePropertyValues() {
+        assertEquals(RejectionPolicy.BLOCK, RejectionPolicy.fromProperty("block"));
+        assertEquals(RejectionPolicy.BACK_OFF, RejectionPolicy.fromProperty("back-off"));
+    }
+
+    private BoundedNodeTaskExecutor executor(int capacity, RejectionPolicy rejectionPolicy) {
+        return new BoundedNodeTaskExecutor(
+                pool, capacity, rejectionPolicy, Duration.ofMillis(10), Duration.ofMillis(50), meterRegistry
+        );
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
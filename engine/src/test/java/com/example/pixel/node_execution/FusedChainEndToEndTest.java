@@ -0,0 +1,153 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.integration.NodeClient;
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node.InMemoryNodeCache;
+import com.example.pixel.node_execution.dto.NodeExecutionDto;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.executor.FusedChainExecutor;
+import com.example.pixel.node_execution.mapper.NodeExecutionMapper;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeExecutionPolicy;
+import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import com.example.pixel.node_execution.service.*;
+import com.example.pixel.util.StubNodeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs fused chains through the real {@link NodeClient} against {@link StubNodeService},
+ * so the {@code /exec_chain} contract is exercised end to end: the request JSON, the
+ * snake_case {@code NodeChainResponse} and the resolution of in-chain references by
+ * the node service.
+ */
+class FusedChainEndToEndTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+
+    private final Map<Long, NodeExecutionEntity> rows = new ConcurrentHashMap<>();
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    private StubNodeService stub;
+    private FusedChainExecutor executor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        stub = new StubNodeService()
+                .handle("double", inputs -> Map.of("number", ((Number) inputs.get("number")).doubleValue() * 2))
+                .handle("broken", inputs -> {
+                    throw new IllegalArgumentException("bad input");
+                });
+
+        NodeClient nodeClient = new NodeClient();
+        ReflectionTestUtils.setField(nodeClient, "nodeBaseUrl", stub.url());
+        ReflectionTestUtils.setField(nodeClient, "chainExecutionEndpoint", "/exec_chain");
+
+        NodeExecutionJournal journal = mock(NodeExecutionJournal.class);
+        when(journal.create(any())).thenAnswer(invocation -> {
+            NodeExecutionEntity entity = invocation.getArgument(0);
+            entity.setId(entity.getNodeId());
+            rows.put(entity.getId(), entity);
+            return entity;
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<NodeExecutionEntity>>getArgument(1).accept(rows.get(invocation.<Long>getArgument(0)));
+            return null;
+        }).when(journal).update(anyLong(), any());
+        when(journal.find(anyLong())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+
+        NodeExecutionMapper mapper = mock(NodeExecutionMapper.class);
+        when(mapper.toDto(any())).thenAnswer(invocation -> {
+            NodeExecutionEntity entity = invocation.getArgument(0);
+            NodeExecutionDto dto = new NodeExecutionDto();
+            dto.setId(entity.getId());
+            dto.setStatus(entity.getStatus());
+            dto.setOutputs(entity.getOutputs());
+            return dto;
+        });
+
+        NodeExecutionPolicyResolver policyResolver = mock(NodeExecutionPolicyResolver.class);
+        when(policyResolver.resolve(any())).thenReturn(new NodeExecutionPolicy(Duration.ofSeconds(5), 1, false));
+
+        NodeExecutionService nodeExecutionService = new NodeExecutionService(
+                nodeClient,
+                new InMemoryNodeCache(),
+                mock(NodeExecutionRepository.class),
+                journal,
+                mapper,
+                mock(NodeResultMemoizer.class),
+                policyResolver,
+                new NodeCallRetrier(new SimpleMeterRegistry(), 1, 5, 2.0),
+                mock(NodeFanOut.class)
+        );
+        executor = new FusedChainExecutor(nodeExecutionService, new CancellationRegistry(), pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void launchChain_shouldRunWholeChainInOneRequest() throws Exception {
+        List<Node> chain = List.of(
+                new Node(1L, "double", new HashMap<>(Map.of("number", 1.5))),
+                new Node(2L, "double", new HashMap<>(Map.of("number", new NodeReference("@node:1:number")))),
+                new Node(3L, "double", new HashMap<>(Map.of("number", new NodeReference("@node:2:number"))))
+        );
+
+        List<NodeExecutionDto> executions = executor.launchChain(chain, GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, stub.requests("/exec_chain"));
+        assertEquals(0, stub.requests("/exec"));
+        assertEquals(0, stub.requests("/validate"));
+        assertEquals(3, executions.size());
+        for (NodeExecutionDto execution : executions) {
+            assertEquals(NodeStatus.COMPLETED, execution.getStatus());
+        }
+        assertEquals(12.0, ((Number) executions.get(2).getOutputs().get("number")).doubleValue());
+        // In-chain references are recorded with the value the node service resolved them to
+        assertEquals(3.0, ((Number) rows.get(2L).getInputs().get("number")).doubleValue());
+        assertEquals(6.0, ((Number) rows.get(3L).getInputs().get("number")).doubleValue());
+    }
+
+    @Test
+    void launchChain_shouldKeepNodesBeforeTheFailingOne() {
+        List<Node> chain = List.of(
+                new Node(1L, "double", new HashMap<>(Map.of("number", 1.5))),
+                new Node(2L, "broken", new HashMap<>(Map.of("number", new NodeReference("@node:1:number")))),
+                new Node(3L, "double", new HashMap<>(Map.of("number", new NodeReference("@node:2:number"))))
+        );
+
+        assertThrows(ExecutionException.class,
+                () -> executor.launchChain(chain, GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS));
+
+        assertEquals(1, stub.requests("/exec_chain"));
+        assertEquals(NodeStatus.COMPLETED, rows.get(1L).getStatus());
+        assertEquals(3.0, ((Number) rows.get(1L).getOutputs().get("number")).doubleValue());
+        assertEquals(NodeStatus.FAILED, rows.get(2L).getStatus());
+        assertEquals("bad input", rows.get(2L).getErrorMessage());
+        assertEquals(NodeStatus.FAILED, rows.get(3L).getStatus());
+        assertEquals("Fused chain stopped at node 2: bad input", rows.get(3L).getErrorMessage());
+    }
+}
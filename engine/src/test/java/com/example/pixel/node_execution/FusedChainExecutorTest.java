@@ -0,0 +1,119 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.Metadata;
+import com.example.pixel.node_execution.dto.NodeChainResponse;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.executor.FusedChainExecutor;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FusedChainExecutorTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+
+    private final NodeExecutionService nodeExecutionService = mock(NodeExecutionService.class);
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    private FusedChainExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        when(nodeExecutionService.findCheckpoint(any(), anyLong())).thenReturn(Optional.empty());
+        when(nodeExecutionService.create(any(), anyLong())).thenAnswer(invocation -> {
+            NodeExecutionEntity entity = new NodeExecutionEntity();
+            entity.setId(invocation.<Node>getArgument(0).getId());
+            return entity;
+        });
+        when(nodeExecutionService.setup(any(), anyLong(), anySet())).thenAnswer(invocation -> {
+            Node node = invocation.getArgument(0);
+            return new NodeClientData(new Metadata(node.getType(), node.getId(), GRAPH_EXECUTION_ID), node.getInputs());
+        });
+
+        executor = new FusedChainExecutor(nodeExecutionService, new CancellationRegistry(), pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void launchChain_shouldSendWholeChainInOneRequestAndPublishEveryNode() throws Exception {
+        when(nodeExecutionService.executeChain(anyList(), anyList())).thenReturn(response(null, null, "a.png", "b.png"));
+
+        List<Node> chain = chain();
+        executor.launchChain(chain, GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NodeClientData>> requests = ArgumentCaptor.forClass(List.class);
+        verify(nodeExecutionService, times(1)).executeChain(eq(List.of(1L, 2L)), requests.capture());
+        assertEquals("@node:1:output", requests.getValue().get(1).getInputs().get("input"));
+
+        ArgumentCaptor<Node> completed = ArgumentCaptor.forClass(Node.class);
+        verify(nodeExecutionService).complete(eq(1L), any(), any());
+        verify(nodeExecutionService).complete(eq(2L), completed.capture(), any());
+        verify(nodeExecutionService, times(2)).publish(any(), anyMap());
+        assertEquals("a.png", completed.getValue().getInputs().get("input"));
+        assertInstanceOf(NodeReference.class, chain.get(1).getInputs().get("input"));
+    }
+
+    @Test
+    void launchChain_shouldCompleteNodesBeforeTheFailingOne() {
+        when(nodeExecutionService.executeChain(anyList(), anyList())).thenReturn(response("boom", 2L, "a.png"));
+
+        assertThrows(Exception.class, () -> executor.launchChain(chain(), GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS));
+
+        verify(nodeExecutionService).complete(eq(1L), any(), any());
+        verify(nodeExecutionService).failed(eq(2L), any(), eq("boom"));
+        verify(nodeExecutionService, never()).complete(eq(2L), any(), any());
+    }
+
+    @Test
+    void launchChain_shouldFailEveryNodeWhenRequestFails() {
+        when(nodeExecutionService.executeChain(anyList(), anyList())).thenThrow(new IllegalStateException("unreachable"));
+
+        assertThrows(Exception.class, () -> executor.launchChain(chain(), GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS));
+
+        verify(nodeExecutionService).failed(eq(1L), any(), contains("unreachable"));
+        verify(nodeExecutionService).failed(eq(2L), any(), contains("unreachable"));
+        verify(nodeExecutionService, never()).publish(any(), anyMap());
+    }
+
+    private List<Node> chain() {
+        return List.of(
+                new Node(1L, "blur", new HashMap<>(Map.of("input", "in.png"))),
+                new Node(2L, "grayscale", new HashMap<>(Map.of("input", new NodeReference("@node:1:output"))))
+        );
+    }
+
+    private NodeChainResponse response(String error, Long nodeId, String... outputs) {
+        List<NodeExecutionResponse> results = new ArrayList<>();
+        for (String output : outputs) {
+            NodeExecutionResponse result = new NodeExecutionResponse();
+            result.setOutputs(Map.of("output", output));
+            results.add(result);
+        }
+        NodeChainResponse response = new NodeChainResponse();
+        response.setResults(results);
+        response.setError(error);
+        response.setNodeId(nodeId);
+        return response;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.node_execution.model.NodeExecutionPolicy;
+import com.example.pixel.node_execution.service.NodeCallRetrier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeCallRetrierTest {
+
+    private static final NodeExecutionPolicy RETRYABLE = new NodeExecutionPolicy(Duration.ofSeconds(1), 3, true);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NodeCallRetrier retrier = new NodeCallRetrier(meterRegistry, 1, 5, 2.0);
+    private final List<Integer> retries = new ArrayList<>();
+
+    @Test
+    void call_shouldRetryTransientFailuresUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retrier.call("resize", RETRYABLE, (attempt, failure) -> retries.add(attempt), () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ResourceAccessException("timed out", new HttpTimeoutException("read timed out"));
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(List.of(2, 3), retries);
+        assertEquals(2.0, meterRegistry.get("pixel.node.retries").counter().count());
+        assertEquals(2.0, meterRegistry.get("pixel.node.timeouts").counter().count());
+    }
+
+    @Test
+    void call_shouldNotRetryRejectedInputs() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> retrier.call("resize", RETRYABLE, (attempt, failure) -> retries.add(attempt), () -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+
+        assertEquals(1, calls.get());
+        assertTrue(retries.isEmpty());
+    }
+
+    @Test
+    void call_shouldMakeSingleAttemptForNonRetryableNodes() {
+        NodeExecutionPolicy sideEffecting = new NodeExecutionPolicy(Duration.ofSeconds(1), 5, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ResourceAccessException.class, () -> retrier.call("s3_output", sideEffecting, (attempt, failure) -> retries.add(attempt), () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("connection reset", new IOException("reset"));
+        }));
+
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.config.TestCacheConfig;
+import com.example.pixel.node_execution.dto.NodeExecutionPayloadDto;
+import com.example.pixel.node_execution.dto.NodeExecutionSummaryView;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import com.example.pixel.node_execution.service.NodeExecutionJournal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Covers the split between node execution summaries and their payloads. The journal is
+ * flushed only on demand here, so records it creates stay out of the database until a
+ * listing flushes them.
+ */
+@Import({TestCacheConfig.class})
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "execution.journal.flush-interval-ms=3600000")
+@Tag("integration")
+class NodeExecutionControllerIntegrationTest {
+
+    private static final AtomicLong graphExecutionIds = new AtomicLong(1_000);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private NodeExecutionRepository nodeExecutionRepository;
+
+    @Autowired
+    private NodeExecutionJournal nodeExecutionJournal;
+
+    @Test
+    void findAllSummaries_shouldReturnColumnsWithoutPayload() {
+        NodeExecutionEntity saved = nodeExecutionRepository.save(completed(graphExecutionIds.incrementAndGet()));
+
+        NodeExecutionSummaryView summary = nodeExecutionRepository.findAllSummaries().stream()
+                .filter(view -> saved.getId().equals(view.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertFalse(summary instanceof NodeExecutionEntity);
+        assertEquals(saved.getGraphExecutionId(), summary.getGraphExecutionId());
+        assertEquals(3L, summary.getNodeId());
+        assertEquals("blur", summary.getNodeType());
+        assertEquals(NodeStatus.COMPLETED, summary.getStatus());
+        assertEquals(2, summary.getAttempts());
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void getAll_shouldOmitPayload() {
+        NodeExecutionEntity saved = nodeExecutionRepository.save(completed(graphExecutionIds.incrementAndGet()));
+
+        ResponseEntity<Map[]> response = restTemplate.getForEntity(
+                "/v1/node_execution?graphExecutionId=" + saved.getGraphExecutionId(), Map[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().length);
+        Map summary = response.getBody()[0];
+        assertEquals(saved.getId(), ((Number) summary.get("id")).longValue());
+        assertEquals("COMPLETED", summary.get("status"));
+        assertFalse(summary.containsKey("inputs"));
+        assertFalse(summary.containsKey("outputs"));
+        assertFalse(summary.containsKey("attemptErrors"));
+    }
+
+    @Test
+    void getPayload_shouldServeStoredExecution() {
+        NodeExecutionEntity saved = nodeExecutionRepository.save(completed(graphExecutionIds.incrementAndGet()));
+
+        ResponseEntity<NodeExecutionPayloadDto> response = restTemplate.getForEntity(
+                "/v1/node_execution/" + saved.getId() + "/payload", NodeExecutionPayloadDto.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        NodeExecutionPayloadDto payload = response.getBody();
+        assertNotNull(payload);
+        assertEquals(saved.getId(), payload.getId());
+        assertEquals(Map.of("input", "a.png"), payload.getInputs());
+        assertEquals(Map.of("output", "b.png"), payload.getOutputs());
+        assertEquals(List.of("timeout"), payload.getAttemptErrors());
+    }
+
+    @Test
+    void getPayload_shouldServeExecutionHeldByJournal() {
+        NodeExecutionEntity running = NodeExecutionEntity.builder()
+                .graphExecutionId(graphExecutionIds.incrementAndGet())
+                .nodeId(1L)
+                .nodeType("blur")
+                .status(NodeStatus.RUNNING)
+                .inputs(Map.of("input", "a.png"))
+                .attempts(1)
+                .startedAt(Instant.now())
+                .build();
+        Long id = nodeExecutionJournal.create(running).getId();
+        assertTrue(nodeExecutionRepository.findById(id).isEmpty());
+
+        ResponseEntity<NodeExecutionPayloadDto> response = restTemplate.getForEntity(
+                "/v1/node_execution/" + id + "/payload", NodeExecutionPayloadDto.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        NodeExecutionPayloadDto payload = response.getBody();
+        assertNotNull(payload);
+        assertEquals(id, payload.getId());
+        assertEquals(Map.of("input", "a.png"), payload.getInputs());
+        assertNull(payload.getOutputs());
+    }
+
+    @Test
+    void getPayload_shouldReturnNotFoundForUnknownExecution() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/v1/node_execution/" + Long.MAX_VALUE + "/payload", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private static NodeExecutionEntity completed(Long graphExecutionId) {
+        Instant startedAt = Instant.now();
+        return NodeExecutionEntity.builder()
+                .graphExecutionId(graphExecutionId)
+                .nodeId(3L)
+                .nodeType("blur")
+                .status(NodeStatus.COMPLETED)
+                .inputs(Map.of("input", "a.png"))
+                .outputs(Map.of("output", "b.png"))
+                .attempts(2)
+                .attemptErrors(List.of("timeout"))
+                .startedAt(startedAt)
+                .finishedAt(startedAt.plusSeconds(1))
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.config.TestCacheConfig;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import com.example.pixel.node_execution.service.NodeExecutionJournal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs with a JVM time zone off UTC and a database of its own, so its connections are
+ * opened in that zone. A timestamp converted through the session time zone on either
+ * write path would then differ from the one the other path stores.
+ */
+@Import({TestCacheConfig.class})
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journal-timestamps;MODE=PostgreSQL",
+        "execution.journal.flush-interval-ms=3600000"
+})
+@Tag("integration")
+class NodeExecutionJournalIntegrationTest {
+
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getDefault();
+    private static final Instant STARTED_AT = Instant.parse("2025-03-01T10:15:30.123456Z");
+    private static final Instant FINISHED_AT = Instant.parse("2025-03-01T10:15:32.654321Z");
+
+    static {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+    }
+
+    @Autowired
+    private NodeExecutionJournal nodeExecutionJournal;
+
+    @Autowired
+    private NodeExecutionRepository nodeExecutionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterAll
+    static void restoreTimeZone() {
+        TimeZone.setDefault(DEFAULT_TIME_ZONE);
+    }
+
+    @Test
+    void flush_shouldStoreTimestampsAsHibernateDoes() {
+        Long writtenByHibernate = nodeExecutionRepository.save(completed()).getId();
+        Long writtenByJournal = nodeExecutionJournal.create(completed()).getId();
+        nodeExecutionJournal.flush();
+
+        assertEquals(storedTimestamps(writtenByHibernate), storedTimestamps(writtenByJournal));
+
+        NodeExecutionEntity readByHibernate = nodeExecutionRepository.findById(writtenByJournal).orElseThrow();
+        assertEquals(STARTED_AT, readByHibernate.getStartedAt());
+        assertEquals(FINISHED_AT, readByHibernate.getFinishedAt());
+    }
+
+    @Test
+    void update_shouldKeepTimestampsOfRowWrittenByHibernate() {
+        NodeExecutionEntity running = completed();
+        running.setStatus(NodeStatus.RUNNING);
+        running.setFinishedAt(null);
+        Long id = nodeExecutionRepository.save(running).getId();
+
+        nodeExecutionJournal.update(id, entity -> {
+            entity.setStatus(NodeStatus.COMPLETED);
+            entity.setFinishedAt(FINISHED_AT);
+        });
+        nodeExecutionJournal.flush();
+
+        NodeExecutionEntity stored = nodeExecutionRepository.findById(id).orElseThrow();
+        assertEquals(STARTED_AT, stored.getStartedAt());
+        assertEquals(FINISHED_AT, stored.getFinishedAt());
+    }
+
+    private List<Object> storedTimestamps(Long id) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT started_at, finished_at FROM node_executions WHERE id = ?", id);
+        return List.of(row.get("started_at"), row.get("finished_at"));
+    }
+
+    private static NodeExecutionEntity completed() {
+        return NodeExecutionEntity.builder()
+                .graphExecutionId(1L)
+                .nodeId(1L)
+                .nodeType("blur")
+                .status(NodeStatus.COMPLETED)
+                .inputs(Map.of("input", "a.png"))
+                .outputs(Map.of("output", "b.png"))
+                .attempts(1)
+                .startedAt(STARTED_AT)
+                .finishedAt(FINISHED_AT)
+                .build();
+    }
+}
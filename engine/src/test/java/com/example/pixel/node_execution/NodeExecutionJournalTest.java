@@ -0,0 +1,234 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.exception.NodeExecutionException;
+import com.example.pixel.node_execution.dto.NodeStatus;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.repository.NodeExecutionRepository;
+import com.example.pixel.node_execution.service.NodeExecutionJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NodeExecutionJournalTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NodeExecutionRepository repository = mock(NodeExecutionRepository.class);
+
+    @BeforeEach
+    void setup() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 51L);
+    }
+
+    @Test
+    void create_shouldAllocateIdsInBlocks() {
+        NodeExecutionJournal journal = journal(1000);
+
+        for (long expected = 1; expected <= 51; expected++) {
+            assertEquals(expected, journal.create(running(expected)).getId());
+        }
+
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void flush_shouldWriteStartedAndFinishedNodeAsOneInsert() {
+        NodeExecutionJournal journal = journal(1000);
+        Long id = journal.create(running(7L)).getId();
+        journal.update(id, entity -> {
+            entity.setStatus(NodeStatus.COMPLETED);
+            entity.setOutputs(Map.of("output", "a.png"));
+        });
+
+        journal.flush();
+        journal.flush();
+
+        List<Object[]> inserts = captureBatch("INSERT", 1).getFirst();
+        assertEquals(1, inserts.size());
+        assertEquals(id, inserts.getFirst()[0]);
+        assertEquals("COMPLETED", inserts.getFirst()[4]);
+        assertEquals("{\"output\":\"a.png\"}", inserts.getFirst()[6]);
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("UPDATE"), anyList(), any(int[].class));
+        assertTrue(journal.find(id).isEmpty());
+    }
+
+    @Test
+    void flush_shouldUpdateRunningNodeAfterItWasInserted() {
+        NodeExecutionJournal journal = journal(1000);
+        Long id = journal.create(running(7L)).getId();
+        journal.flush();
+
+        assertEquals(NodeStatus.RUNNING, journal.find(id).orElseThrow().getStatus());
+        journal.update(id, entity -> {
+            entity.setStatus(NodeStatus.FAILED);
+            entity.setErrorMessage("boom");
+        });
+        journal.flush();
+
+        List<Object[]> updates = captureBatch("UPDATE", 1).getFirst();
+        assertEquals("FAILED", updates.getFirst()[0]);
+        assertEquals("boom", updates.getFirst()[6]);
+        assertEquals(id, updates.getFirst()[7]);
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    void flush_shouldKeepRecordsBufferedWhenWriteFails() {
+        NodeExecutionJournal journal = journal(1000);
+        Long id = journal.create(running(7L)).getId();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList(), any(int[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(new int[]{1});
+
+        assertThrows(DataAccessResourceFailureException.class, journal::flush);
+        assertTrue(journal.find(id).isPresent());
+
+        journal.flush();
+
+        List<List<Object[]>> attempts = captureBatch("INSERT", 2);
+        assertEquals(id, attempts.get(1).getFirst()[0]);
+    }
+
+    @Test
+    void flush_shouldRecordRowThatCannotBeWrittenAsFailed() {
+        NodeExecutionJournal journal = journal(1000);
+        Long good = journal.create(running(7L)).getId();
+        Long bad = journal.create(running(8L)).getId();
+        // Only the row with its payload is rejected, as a value the column cannot hold would be
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList(), any(int[].class))).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> bad.equals(row[0]) && row[5] != null)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return new int[rows.size()];
+        });
+
+        assertThrows(DataIntegrityViolationException.class, journal::flush);
+        assertTrue(journal.find(bad).isPresent());
+        assertEquals(NodeStatus.RUNNING, journal.find(good).orElseThrow().getStatus());
+
+        // The good row was written by the first flush; the bad one is retried, then recorded as failed
+        assertThrows(DataIntegrityViolationException.class, journal::flush);
+        journal.flush();
+
+        assertTrue(journal.find(bad).isEmpty());
+        List<Object[]> failed = captureBatch("INSERT", 6).getLast();
+        assertEquals(bad, failed.getFirst()[0]);
+        assertEquals("FAILED", failed.getFirst()[4]);
+        assertNull(failed.getFirst()[5]);
+        assertTrue(((String) failed.getFirst()[11]).contains("value too long"));
+    }
+
+    @Test
+    void flush_shouldKeepRecordThatCannotBeRecordedAsFailed() {
+        NodeExecutionJournal journal = journal(1000);
+        Long id = journal.create(running(7L)).getId();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList(), any(int[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(DataAccessResourceFailureException.class, journal::flush);
+        }
+
+        assertEquals(NodeStatus.RUNNING, journal.find(id).orElseThrow().getStatus());
+        reset(jdbcTemplate);
+        journal.flush();
+        assertEquals(id, captureBatch("INSERT", 1).getFirst().getFirst()[0]);
+    }
+
+    @Test
+    void create_shouldFlushWhenBufferIsFull() {
+        NodeExecutionJournal journal = journal(1000, 2);
+        Long first = journal.create(running(1L)).getId();
+        journal.create(running(2L));
+
+        journal.create(running(3L));
+
+        assertEquals(2, captureBatch("INSERT", 1).getFirst().size());
+        // Flushed running records stay buffered for their next transition
+        assertTrue(journal.find(first).isPresent());
+    }
+
+    @Test
+    void create_shouldFailWhenBufferStaysFull() {
+        NodeExecutionJournal journal = journal(1000, 2);
+        journal.create(running(1L));
+        journal.create(running(2L));
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList(), any(int[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertThrows(NodeExecutionException.class, () -> journal.create(running(3L)));
+    }
+
+    @Test
+    void create_shouldFlushOnceBatchIsFull() {
+        NodeExecutionJournal journal = journal(2);
+
+        journal.create(running(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+        journal.create(running(2L));
+
+        assertEquals(2, captureBatch("INSERT", 1).getFirst().size());
+    }
+
+    @Test
+    void update_shouldLoadRecordsThatWereFlushedAndEvicted() {
+        NodeExecutionJournal journal = journal(1000);
+        NodeExecutionEntity stored = running(7L);
+        stored.setId(99L);
+        stored.setStatus(NodeStatus.COMPLETED);
+        when(repository.findById(99L)).thenReturn(Optional.of(stored));
+
+        journal.update(99L, entity -> entity.setStatus(NodeStatus.CANCELLED));
+        journal.flush();
+
+        List<Object[]> updates = captureBatch("UPDATE", 1).getFirst();
+        assertEquals("CANCELLED", updates.getFirst()[0]);
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT"), anyList(), any(int[].class));
+    }
+
+    private NodeExecutionJournal journal(int batchSize) {
+        return journal(batchSize, 10_000);
+    }
+
+    private NodeExecutionJournal journal(int batchSize, int maxBufferedRecords) {
+        return new NodeExecutionJournal(
+                jdbcTemplate, mock(PlatformTransactionManager.class), repository, new ObjectMapper(), new H2Dialect(),
+                batchSize, maxBufferedRecords, 3
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> captureBatch(String statement, int times) {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(times)).batchUpdate(startsWith(statement), batch.capture(), any(int[].class));
+        return batch.getAllValues();
+    }
+
+    private static NodeExecutionEntity running(Long nodeId) {
+        return NodeExecutionEntity.builder()
+                .graphExecutionId(1L)
+                .nodeId(nodeId)
+                .nodeType("blur")
+                .status(NodeStatus.RUNNING)
+                .inputs(Map.of("input", "a.png"))
+                .attempts(1)
+                .startedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.PixelApplication;
+import com.example.pixel.config.TestCacheConfig;
+import com.example.pixel.node_execution.executor.AsyncNodeExecutor;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.util.StubNodeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fires a burst of concurrent node invocations at {@link StubNodeService}, whose requests
+ * block for a fixed time, and compares end-to-end p99 latency, peak thread count and
+ * resident memory between {@code execution.threads=platform} and {@code virtual}. Each
+ * setting boots the engine in a JVM of its own, so the executors are the ones
+ * {@code AsyncConfig} builds and the node calls go through the real
+ * {@link AsyncNodeExecutor}, node execution journal and {@code NodeClient}. Counts and
+ * memory include the rest of the application. Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class NodeExecutorLoadTest {
+
+    private static final int INVOCATIONS = 2_000;
+    private static final long NODE_SERVICE_LATENCY_MS = 20;
+    private static final String NODE_TYPE = "load";
+    private static final String RESULT_PREFIX = "RESULT ";
+
+    @Test
+    void virtualThreads_shouldServeBurstWithFewerPlatformThreads() throws Exception {
+        System.out.println("\n=== Load test: " + INVOCATIONS + " concurrent node calls, "
+                + NODE_SERVICE_LATENCY_MS + "ms per node service request ===");
+        System.out.printf("  %-22s %-10s %-10s %-14s %-10s%n", "executor", "p50 (ms)", "p99 (ms)", "peak threads", "RSS (MB)");
+
+        Result platform = fork(Mode.PLATFORM);
+        Result virtualResult = fork(Mode.VIRTUAL);
+
+        // Latencies depend on how many cores carry the virtual threads, so they are only reported
+        assertTrue(virtualResult.peakThreads() < platform.peakThreads());
+    }
+
+    /**
+     * Entry point of the forked JVM: runs the burst on one executor and prints its result.
+     */
+    public static void main(String[] args) throws Exception {
+        Mode mode = Mode.valueOf(args[0]);
+        try (StubNodeService stub = new StubNodeService().latency(NODE_SERVICE_LATENCY_MS);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(PixelApplication.class, TestCacheConfig.class)
+                     .profiles("test")
+                     .run(
+                             "--server.port=0",
+                             "--node.service.url=" + stub.url(),
+                             "--execution.threads=" + mode.threads,
+                             "--logging.level.root=WARN"
+                     )) {
+            Result result = run(context.getBean(AsyncNodeExecutor.class));
+            System.out.println(RESULT_PREFIX + result.p50() + " " + result.p99() + " " + result.peakThreads() + " " + result.rssMegabytes());
+        }
+        System.exit(0);
+    }
+
+    private Result fork(Mode mode) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), NodeExecutorLoadTest.class.getName(), mode.name())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        String line;
+        try (BufferedReader output = process.inputReader()) {
+            line = output.lines().filter(l -> l.startsWith(RESULT_PREFIX)).reduce((first, last) -> last).orElse(null);
+        }
+        if (!process.waitFor(5, TimeUnit.MINUTES) || process.exitValue() != 0 || line == null) {
+            process.destroyForcibly();
+            fail("Load test JVM for " + mode.label + " did not report a result");
+        }
+
+        String[] values = line.substring(RESULT_PREFIX.length()).split(" ");
+        Result result = new Result(Long.parseLong(values[0]), Long.parseLong(values[1]), Long.parseLong(values[2]), Long.parseLong(values[3]));
+        System.out.printf("  %-22s %-10d %-10d %-14d %-10s%n",
+                mode.label, result.p50(), result.p99(), result.peakThreads(), result.rssMegabytes() < 0 ? "n/a" : result.rssMegabytes());
+        return result;
+    }
+
+    private static Result run(AsyncNodeExecutor nodeExecutor) throws Exception {
+        long[] latencies = new long[INVOCATIONS];
+        AtomicLong peakThreads = new AtomicLong();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+                () -> peakThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS
+        );
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(INVOCATIONS);
+        for (int i = 0; i < INVOCATIONS; i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            futures.add(nodeExecutor.launchExecution(new Node((long) i, NODE_TYPE, Map.of()), 1L)
+                    .thenAccept(result -> latencies[index] = System.nanoTime() - submittedAt));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+        long rss = residentSetMegabytes();
+
+        sampler.shutdownNow();
+
+        Arrays.sort(latencies);
+        return new Result(
+                TimeUnit.NANOSECONDS.toMillis(latencies[INVOCATIONS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) (INVOCATIONS * 0.99) - 1]),
+                peakThreads.get(),
+                rss
+        );
+    }
+
+    private static long residentSetMegabytes() {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) return -1;
+        try {
+            return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                    .findFirst()
+                    .orElse(-1L);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private enum Mode {
+        PLATFORM("platform", "platform pools"),
+        VIRTUAL("virtual", "virtual threads");
+
+        private final String threads;
+        private final String label;
+
+        Mode(String threads, String label) {
+            this.threads = threads;
+            this.label = label;
+        }
+    }
+
+    private record Result(long p50, long p99, long peakThreads, long rssMegabytes) {}
+}
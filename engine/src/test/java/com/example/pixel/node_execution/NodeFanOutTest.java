@@ -0,0 +1,81 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.Metadata;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
+import com.example.pixel.node_execution.service.NodeFanOut;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeFanOutTest {
+
+    private static final NodeSplitSpec SPEC = new NodeSplitSpec("input", List.of("output"));
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final NodeFanOut fanOut = new NodeFanOut(new CancellationRegistry(), pool, 4, 32);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void shard_shouldSplitLargeInputsOnlyIntoShardsOfMinimumSize() {
+        assertEquals(4, fanOut.shard(data(5_000), SPEC).size());
+        assertEquals(2, fanOut.shard(data(64), SPEC).size());
+        assertTrue(fanOut.shard(data(40), SPEC).isEmpty());
+    }
+
+    @Test
+    void execute_shouldRunShardsConcurrentlyAndMergeInOrder() {
+        NodeClientData data = data(200);
+        List<List<Object>> shards = fanOut.shard(data, SPEC);
+        CountDownLatch allStarted = new CountDownLatch(shards.size());
+
+        NodeExecutionResponse response = fanOut.execute(data, SPEC, shards, shard -> {
+            allStarted.countDown();
+            try {
+                // Only returns if every shard is in flight at the same time
+                assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            NodeExecutionResponse shardResponse = new NodeExecutionResponse();
+            shardResponse.setOutputs(Map.of("output", shard.getInputs().get("input"), "count", 1));
+            return shardResponse;
+        });
+
+        assertEquals(data.getInputs().get("input"), response.getOutputs().get("output"));
+        assertEquals(1, response.getOutputs().get("count"));
+    }
+
+    @Test
+    void execute_shouldFailWhenAnyShardFails() {
+        NodeClientData data = data(200);
+        List<List<Object>> shards = fanOut.shard(data, SPEC);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> fanOut.execute(data, SPEC, shards, shard -> {
+            if (((List<?>) shard.getInputs().get("input")).contains("img150")) {
+                throw new IllegalStateException("boom");
+            }
+            return new NodeExecutionResponse();
+        }));
+        assertEquals("boom", exception.getMessage());
+    }
+
+    private NodeClientData data(int items) {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < items; i++) files.add("img" + i);
+        return new NodeClientData(new Metadata("blur", 1L, 1L), Map.of("input", files, "ksize", 3));
+    }
+}
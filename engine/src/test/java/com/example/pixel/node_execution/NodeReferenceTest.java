@@ -0,0 +1,34 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.exception.InvalidNodeInputException;
+import com.example.pixel.node_execution.model.NodeReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeReferenceTest {
+
+    @Test
+    void constructor_shouldParseNodeIdAndOutputOnce() {
+        NodeReference reference = new NodeReference("@node:42:output_1");
+
+        assertEquals(42L, reference.getNodeId());
+        assertEquals("output_1", reference.getOutputName());
+        assertEquals("@node:42:output_1", reference.toString());
+        assertSame(reference.getOutputName(), new NodeReference("@node:7:output_1").getOutputName());
+    }
+
+    @Test
+    void equals_shouldCompareByValue() {
+        assertEquals(new NodeReference("@node:1:output"), new NodeReference("@node:1:output"));
+        assertNotEquals(new NodeReference("@node:1:output"), new NodeReference("@node:2:output"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"@node:", "@node::output", "@node:1", "@node:1:", "@node:x:output", "@node:1:out-put", "@node:99999999999999999999:output"})
+    void constructor_shouldRejectMalformedReferences(String reference) {
+        assertThrows(InvalidNodeInputException.class, () -> new NodeReference(reference));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.file_system.service.StorageService;
+import com.example.pixel.node.dto.NodeConfigurationDto;
+import com.example.pixel.node.service.NodeService;
+import com.example.pixel.node_execution.cache.NodeCache;
+import com.example.pixel.node_execution.dto.Metadata;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.service.NodeResultMemoizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NodeResultMemoizerTest {
+
+    @TempDir
+    Path storageRoot;
+
+    private final NodeService nodeService = mock(NodeService.class);
+    private final StorageService storageService = mock(StorageService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Map<String, Object>> entries = new HashMap<>();
+    private final Map<String, Duration> ttls = new HashMap<>();
+
+    private NodeResultMemoizer memoizer;
+
+    @BeforeEach
+    void setup() {
+        NodeCache nodeCache = new NodeCache() {
+            public void put(String key, Map<String, Object> data) { entries.put(key, data); }
+            public void put(String key, Map<String, Object> data, Duration ttl) { put(key, data); ttls.put(key, ttl); }
+            public Map<String, Object> get(String key) { return entries.get(key); }
+            public boolean exists(String key) { return entries.containsKey(key); }
+        };
+        when(storageService.load(anyString())).thenAnswer(invocation -> storageRoot.resolve(invocation.<String>getArgument(0)));
+        active("resize", 1, null);
+
+        memoizer = new NodeResultMemoizer(nodeService, nodeCache, storageService, meterRegistry, true, 3600);
+    }
+
+    @Test
+    void fingerprint_shouldIgnoreInputOrderAndTrackConfigurationVersion() {
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("width", 10);
+        inputs.put("height", 20);
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("height", 20);
+        reordered.put("width", 10);
+
+        String first = memoizer.fingerprint(data(1L, inputs)).orElseThrow();
+        assertEquals(first, memoizer.fingerprint(data(2L, reordered)).orElseThrow());
+
+        active("resize", 2, null);
+        assertNotEquals(first, memoizer.fingerprint(data(1L, inputs)).orElseThrow());
+    }
+
+    @Test
+    void fingerprint_shouldChangeWhenInputFileIsRewritten() throws Exception {
+        Path file = Files.writeString(storageRoot.resolve("image.png"), "v1");
+        Map<String, Object> inputs = Map.of("input", List.of("image.png"));
+
+        String before = memoizer.fingerprint(data(1L, inputs)).orElseThrow();
+        Files.writeString(file, "version 2");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        assertNotEquals(before, memoizer.fingerprint(data(1L, inputs)).orElseThrow());
+    }
+
+    @Test
+    void fingerprint_shouldSkipNonDeterministicNodes() {
+        active("output", 1, Map.of("deterministic", false));
+
+        NodeClientData data = new NodeClientData(new Metadata("output", 1L, 1L), Map.of("prefix", "a"));
+
+        assertTrue(memoizer.fingerprint(data).isEmpty());
+    }
+
+    @Test
+    void lookup_shouldMissOnceOutputFilesAreGone() throws Exception {
+        Path output = Files.writeString(storageRoot.resolve("out.png"), "pixels");
+        String key = memoizer.fingerprint(data(1L, Map.of("width", 10))).orElseThrow();
+        NodeExecutionResponse response = new NodeExecutionResponse();
+        response.setOutputs(Map.of("output", List.of("out.png")));
+
+        assertTrue(memoizer.lookup(key, "resize").isEmpty());
+        memoizer.store(key, response);
+        assertEquals(response.getOutputs(), memoizer.lookup(key, "resize").orElseThrow().getOutputs());
+        assertEquals(Duration.ofHours(1), ttls.get(key));
+
+        Files.delete(output);
+        assertTrue(memoizer.lookup(key, "resize").isEmpty());
+
+        assertEquals(1.0, meterRegistry.get("pixel.node.memoization").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("pixel.node.memoization").tag("result", "miss").counter().count());
+    }
+
+    private NodeClientData data(Long graphExecutionId, Map<String, Object> inputs) {
+        return new NodeClientData(new Metadata("resize", 1L, graphExecutionId), inputs);
+    }
+
+    private void active(String type, int version, Map<String, Object> execution) {
+        NodeConfigurationDto configuration = new NodeConfigurationDto();
+        configuration.setType(type);
+        configuration.setVersion(version);
+        configuration.setExecution(execution);
+        when(nodeService.findActive(type)).thenReturn(Optional.of(configuration));
+    }
+}
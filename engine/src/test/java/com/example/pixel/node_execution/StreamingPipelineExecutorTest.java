@@ -0,0 +1,144 @@
+package com.example.pixel.node_execution;
+
+import com.example.pixel.common.service.CancellationRegistry;
+import com.example.pixel.node_execution.dto.Metadata;
+import com.example.pixel.node_execution.dto.NodeClientData;
+import com.example.pixel.node_execution.dto.NodeExecutionResponse;
+import com.example.pixel.node_execution.entity.NodeExecutionEntity;
+import com.example.pixel.node_execution.executor.StreamingPipelineExecutor;
+import com.example.pixel.node_execution.model.Node;
+import com.example.pixel.node_execution.model.NodeReference;
+import com.example.pixel.node_execution.model.NodeSplitSpec;
+import com.example.pixel.node_execution.service.NodeExecutionPolicyResolver;
+import com.example.pixel.node_execution.service.NodeExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StreamingPipelineExecutorTest {
+
+    private static final Long GRAPH_EXECUTION_ID = 1L;
+    private static final int ITEMS = 8;
+
+    private final NodeExecutionService nodeExecutionService = mock(NodeExecutionService.class);
+    private final NodeExecutionPolicyResolver policyResolver = mock(NodeExecutionPolicyResolver.class);
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final ExecutorService stages = Executors.newFixedThreadPool(4);
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    private StreamingPipelineExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        when(policyResolver.resolveSplit("resize")).thenReturn(Optional.of(new NodeSplitSpec("input", List.of("output"))));
+        when(nodeExecutionService.findCheckpoint(any(), anyLong())).thenReturn(Optional.empty());
+        when(nodeExecutionService.create(any(), anyLong())).thenAnswer(invocation -> {
+            NodeExecutionEntity entity = new NodeExecutionEntity();
+            entity.setId(invocation.<Node>getArgument(0).getId());
+            return entity;
+        });
+        when(nodeExecutionService.setup(any(), anyLong())).thenAnswer(invocation -> data(invocation.getArgument(0)));
+        when(nodeExecutionService.setup(any(), anyLong(), anySet())).thenAnswer(invocation -> data(invocation.getArgument(0)));
+
+        executor = new StreamingPipelineExecutor(
+                nodeExecutionService, policyResolver, new CancellationRegistry(), pool, stages, 2, 1
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        stages.shutdownNow();
+    }
+
+    @Test
+    void launchPipeline_shouldStartNextStageBeforeFirstStageFinishes() throws Exception {
+        when(nodeExecutionService.executeBatch(anyLong(), any())).thenAnswer(invocation -> {
+            NodeClientData data = invocation.getArgument(1);
+            List<?> batch = (List<?>) data.getInputs().get("input");
+            events.add("start " + data.getMeta().getNodeId());
+            Thread.sleep(20);
+            events.add("end " + data.getMeta().getNodeId());
+
+            NodeExecutionResponse response = new NodeExecutionResponse();
+            response.setOutputs(Map.of("output", batch.stream().map(item -> item + "-" + data.getMeta().getNodeId()).toList()));
+            return response;
+        });
+
+        executor.launchPipeline(chain(), GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS);
+
+        assertTrue(events.indexOf("start 2") < events.lastIndexOf("end 1"), "stages did not overlap: " + events);
+        verify(nodeExecutionService, times(ITEMS / 2)).executeBatch(eq(1L), any());
+        verify(nodeExecutionService, times(ITEMS / 2)).executeBatch(eq(2L), any());
+
+        ArgumentCaptor<NodeExecutionResponse> response = ArgumentCaptor.forClass(NodeExecutionResponse.class);
+        verify(nodeExecutionService).complete(eq(2L), any(), response.capture());
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) expected.add("img" + i + "-1-2");
+        assertEquals(expected, response.getValue().getOutputs().get("output"));
+        verify(nodeExecutionService, times(2)).publish(any(), anyMap());
+    }
+
+    @Test
+    void launchPipeline_shouldFinishWhenNodeTaskPoolIsSaturated() throws Exception {
+        ExecutorService saturated = Executors.newSingleThreadExecutor();
+        try {
+            StreamingPipelineExecutor singleSlot = new StreamingPipelineExecutor(
+                    nodeExecutionService, policyResolver, new CancellationRegistry(), saturated, stages, 2, 1
+            );
+            when(nodeExecutionService.executeBatch(anyLong(), any())).thenAnswer(invocation -> {
+                NodeClientData data = invocation.getArgument(1);
+                NodeExecutionResponse response = new NodeExecutionResponse();
+                response.setOutputs(Map.of("output", data.getInputs().get("input")));
+                return response;
+            });
+
+            // The only node task slot runs the head stage, which waits on the downstream stage
+            singleSlot.launchPipeline(chain(), GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS);
+
+            verify(nodeExecutionService).complete(eq(2L), any(), any());
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    void launchPipeline_shouldFailEveryUnfinishedStageWhenOneFails() {
+        when(nodeExecutionService.executeBatch(anyLong(), any())).thenAnswer(invocation -> {
+            NodeClientData data = invocation.getArgument(1);
+            if (data.getMeta().getNodeId() == 2L) throw new IllegalStateException("boom");
+            NodeExecutionResponse response = new NodeExecutionResponse();
+            response.setOutputs(Map.of("output", data.getInputs().get("input")));
+            return response;
+        });
+
+        assertThrows(Exception.class, () -> executor.launchPipeline(chain(), GRAPH_EXECUTION_ID).get(10, TimeUnit.SECONDS));
+
+        verify(nodeExecutionService).failed(eq(2L), any(), contains("boom"));
+        verify(nodeExecutionService, never()).complete(eq(2L), any(), any());
+        verify(nodeExecutionService, never()).publish(argThat(data -> data.getMeta().getNodeId() == 2L), anyMap());
+    }
+
+    private List<Node> chain() {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) files.add("img" + i);
+        return List.of(
+                new Node(1L, "resize", new HashMap<>(Map.of("input", files))),
+                new Node(2L, "resize", new HashMap<>(Map.of("input", new NodeReference("@node:1:output"))))
+        );
+    }
+
+    private NodeClientData data(Node node) {
+        return new NodeClientData(new Metadata(node.getType(), node.getId(), GRAPH_EXECUTION_ID), node.getInputs());
+    }
+}
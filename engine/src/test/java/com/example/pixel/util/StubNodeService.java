@@ -0,0 +1,176 @@
+package com.example.pixel.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process stand-in for the Python node service. Speaks the same JSON contract on
+ * {@code /validate}, {@code /exec}, {@code /exec_chain}, {@code /exec_batch},
+ * {@code /load_nodes} and {@code /load_graphs}, runs registered Java handlers in place of
+ * real nodes and counts the requests per endpoint. Node types without a handler echo
+ * their inputs back as outputs.
+ */
+public class StubNodeService implements AutoCloseable {
+
+    private static final Function<Map<String, Object>, Map<String, Object>> ECHO = inputs -> inputs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Function<Map<String, Object>, Map<String, Object>>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private volatile LongSupplier latencyMs = () -> 0;
+
+    public StubNodeService() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/validate", exchange -> respond(exchange, body -> Map.of()));
+        server.createContext("/exec", exchange -> respond(exchange, this::exec));
+        server.createContext("/exec_chain", exchange -> respond(exchange, this::execChain));
+        server.createContext("/exec_batch", exchange -> respond(exchange, this::execBatch));
+        server.createContext("/load_nodes", exchange -> respond(exchange, body -> loaded()));
+        server.createContext("/load_graphs", exchange -> respond(exchange, body -> loaded()));
+        server.start();
+    }
+
+    /**
+     * Base URL to configure as {@code node.service.url}.
+     */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Runs {@code handler} for nodes of {@code type}. A handler that throws fails the node.
+     */
+    public StubNodeService handle(String type, Function<Map<String, Object>, Map<String, Object>> handler) {
+        handlers.put(type, handler);
+        return this;
+    }
+
+    /**
+     * Delays every request, to emulate the per-request overhead of the real service.
+     */
+    public StubNodeService latency(long latencyMs) {
+        return latency(() -> latencyMs);
+    }
+
+    /**
+     * Delays every request by a value drawn from {@code latencyMs}, e.g. a long-tailed
+     * distribution of node run times.
+     */
+    public StubNodeService latency(LongSupplier latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    /**
+     * Handler producing a single {@code output} of {@code bytes} characters, to emulate
+     * nodes returning large results.
+     */
+    public static Function<Map<String, Object>, Map<String, Object>> output(int bytes) {
+        Map<String, Object> outputs = Map.of("output", "x".repeat(bytes));
+        return inputs -> outputs;
+    }
+
+    public int requests(String endpoint) {
+        return requests.getOrDefault(endpoint, new AtomicInteger()).get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private Map<String, Object> loaded() {
+        return Map.of("loaded_nodes", List.copyOf(handlers.keySet()));
+    }
+
+    private Map<String, Object> exec(Map<String, Object> body) {
+        return Map.of("outputs", run(body));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> execChain(Map<String, Object> body) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        Map<Long, Map<String, Object>> outputsById = new HashMap<>();
+        for (Map<String, Object> node : (List<Map<String, Object>>) body.get("nodes")) {
+            Long nodeId = ((Number) ((Map<String, Object>) node.get("meta")).get("node_id")).longValue();
+            Map<String, Object> inputs = new HashMap<>((Map<String, Object>) node.get("inputs"));
+            inputs.replaceAll((key, value) -> resolve(value, outputsById));
+            try {
+                Map<String, Object> outputs = run(Map.of("meta", node.get("meta"), "inputs", inputs));
+                outputsById.put(nodeId, outputs);
+                results.add(Map.of("outputs", outputs));
+            } catch (RuntimeException e) {
+                return Map.of("results", results, "error", String.valueOf(e.getMessage()), "node_id", nodeId);
+            }
+        }
+        return Map.of("results", results);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> execBatch(Map<String, Object> body) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map<String, Object> node : (List<Map<String, Object>>) body.get("nodes")) {
+            try {
+                results.add(Map.of("outputs", run(node)));
+            } catch (RuntimeException e) {
+                results.add(Map.of("error", String.valueOf(e.getMessage())));
+            }
+        }
+        return Map.of("results", results);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> run(Map<String, Object> node) {
+        String type = (String) ((Map<String, Object>) node.get("meta")).get("type");
+        Map<String, Object> inputs = (Map<String, Object>) node.get("inputs");
+        return handlers.getOrDefault(type, ECHO).apply(inputs != null ? inputs : Map.of());
+    }
+
+    private Object resolve(Object value, Map<Long, Map<String, Object>> outputsById) {
+        if (!(value instanceof String reference) || !reference.matches("@node:\\d+:\\w+")) return value;
+        String[] parts = reference.split(":");
+        Map<String, Object> outputs = outputsById.get(Long.parseLong(parts[1]));
+        return outputs != null ? outputs.get(parts[2]) : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respond(HttpExchange exchange, Function<Map<String, Object>, Map<String, Object>> handler) throws IOException {
+        requests.computeIfAbsent(exchange.getHttpContext().getPath(), path -> new AtomicInteger()).incrementAndGet();
+        try (exchange) {
+            long latency = latencyMs.getAsLong();
+            if (latency > 0) Thread.sleep(latency);
+
+            int status = 200;
+            Map<String, Object> response;
+            try {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                response = handler.apply(body.length > 0 ? objectMapper.readValue(body, Map.class) : Map.of());
+            } catch (RuntimeException e) {
+                status = 400;
+                response = Map.of("error", String.valueOf(e.getMessage()));
+            }
+
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
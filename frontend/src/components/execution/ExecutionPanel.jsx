@@ -12,6 +12,7 @@ const ExecutionsPanel = ({ onViewFiles }) => {
     const [nodeExecutions, setNodeExecutions] = useState([]);
     const [nodeLoading, setNodeLoading] = useState(false);
     const [nodeError, setNodeError] = useState(null);
+    const [payloads, setPayloads] = useState({});
 
     useEffect(() => {
         fetchExecutions();
@@ -47,8 +48,21 @@ const ExecutionsPanel = ({ onViewFiles }) => {
         }
     };
 
+    const fetchPayload = async (nodeExecutionId) => {
+        if (payloads[nodeExecutionId]) return;
+        setPayloads(prev => ({ ...prev, [nodeExecutionId]: { loading: true } }));
+        try {
+            const data = await executionApi.getNodeExecutionPayload(nodeExecutionId);
+            setPayloads(prev => ({ ...prev, [nodeExecutionId]: { data } }));
+        } catch (err) {
+            console.error('Error fetching node execution payload:', err);
+            setPayloads(prev => ({ ...prev, [nodeExecutionId]: { error: err.message } }));
+        }
+    };
+
     const handleExecutionClick = (execution) => {
         setSelectedExecution(execution);
+        setPayloads({});
         fetchNodeExecutions(execution.id);
     };
 
@@ -56,6 +70,7 @@ const ExecutionsPanel = ({ onViewFiles }) => {
         setSelectedExecution(null);
         setNodeExecutions([]);
         setNodeError(null);
+        setPayloads({});
     };
 
     const getStatusColor = (status) => {
@@ -259,23 +274,26 @@ const ExecutionsPanel = ({ onViewFiles }) => {
                                         </div>
                                     )}
 
-                                    {node.inputs && Object.keys(node.inputs).length > 0 && (
-                                        <details className="execution-details-section">
-                                            <summary>Inputs ({Object.keys(node.inputs).length})</summary>
-                                            <pre className="execution-json">
-                                                {JSON. stringify(node.inputs, null, 2)}
-                                            </pre>
-                                        </details>
-                                    )}
-
-                                    {node.outputs && Object.keys(node.outputs).length > 0 && (
-                                        <details className="execution-details-section">
-                                            <summary>Outputs ({Object.keys(node.outputs).length})</summary>
+                                    <details
+                                        className="execution-details-section"
+                                        onToggle={(e) => e.currentTarget.open && fetchPayload(node.id)}
+                                    >
+                                        <summary>Inputs & Outputs</summary>
+                                        {payloads[node.id]?.loading && (
+                                            <div className="execution-value">Loading...</div>
+                                        )}
+                                        {payloads[node.id]?.error && (
+                                            <div className="execution-error-message">{payloads[node.id].error}</div>
+                                        )}
+                                        {payloads[node.id]?.data && (
                                             <pre className="execution-json">
-                                                {JSON.stringify(node.outputs, null, 2)}
+                                                {JSON.stringify({
+                                                    inputs: payloads[node.id].data.inputs,
+                                                    outputs: payloads[node.id].data.outputs
+                                                }, null, 2)}
                                             </pre>
-                                        </details>
-                                    )}
+                                        )}
+                                    </details>
                                 </div>
                             </div>
                         ))
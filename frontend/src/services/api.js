@@ -157,4 +157,8 @@ export const executionApi = {
     getNodeExecutions:  async (graphExecutionId) => {
         return apiRequest(`/node_execution?graphExecutionId=${graphExecutionId}`);
     },
+
+    getNodeExecutionPayload: async (nodeExecutionId) => {
+        return apiRequest(`/node_execution/${nodeExecutionId}/payload`);
+    },
 }
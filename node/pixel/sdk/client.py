@@ -42,9 +42,11 @@ class Client:
         return result
 
     @classmethod
-    def create_graph(cls, id: str, nodes: List[Dict[str, Any]]) -> str:
+    def create_graph(cls, id: str, nodes: List[Dict[str, Any]], failure_policy: Optional[str] = None) -> str:
         url = cls._make_engine_url("/v1/graph")
         payload = {"nodes": nodes, "id": id}
+        if failure_policy:
+            payload["failurePolicy"] = failure_policy
         response = cls.session.post(url, json=payload)
         response.raise_for_status()
         return response.json().get("id")
@@ -126,7 +128,7 @@ class Client:
     @classmethod
     def create_node(cls, node: Node):
         url = cls._make_engine_url("/v1/node")
-        params = {"type": node.node_type, "inputs": node.metadata.get("inputs"), "outputs": node.metadata.get("outputs"), "display": node.metadata.get("display")}
+        params = {"type": node.node_type, "inputs": node.metadata.get("inputs"), "outputs": node.metadata.get("outputs"), "display": node.metadata.get("display"), "execution": node.metadata.get("execution")}
         response = cls.session.post(url, json=params)
         response.raise_for_status()
 
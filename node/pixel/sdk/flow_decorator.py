@@ -10,11 +10,12 @@ def flow(func):
             func.__globals__[ntype] = getattr(nf, ntype)
 
         id = kwargs.pop("id", None)
+        failure_policy = kwargs.pop("failure_policy", None)
 
         result = func(*args, **kwargs)
 
         if nf.nodes:
-            nf.create_graph(id=id)
+            nf.create_graph(id=id, failure_policy=failure_policy)
 
         return result
 
@@ -14,7 +14,13 @@ def node(
         required_packages: List[str] = None,
         inputs: Dict[str, Dict[str, Any]] = None,
         outputs: Dict[str, Dict[str, Any]] = None,
-        tasks: Dict[str, Callable] = None
+        tasks: Dict[str, Callable] = None,
+        deterministic: bool = True,
+        retryable: bool = True,
+        timeout_ms: int = None,
+        max_attempts: int = None,
+        split_input: str = None,
+        merge_outputs: List[str] = None
 ):
     def decorator(func: Callable) -> Type[Node]:
         func_node_type = func.__name__.lower()
@@ -49,6 +55,14 @@ def node(
             "inputs": node_inputs,
             "outputs": node_outputs,
             "image": image,
+            "execution": {
+                "deterministic": deterministic,
+                "retryable": retryable,
+                **({"timeoutMs": timeout_ms} if timeout_ms is not None else {}),
+                **({"maxAttempts": max_attempts} if max_attempts is not None else {}),
+                **({"splitInput": split_input} if split_input is not None else {}),
+                **({"mergeOutputs": merge_outputs} if merge_outputs is not None else {})
+            },
             "display": {
                 "name": display_name or auto_display_name,
                 "category": category or "Other",
@@ -89,8 +89,8 @@ class NodeFlow:
             f"Available node models: {', '.join(self.available_node_types.keys())}"
         )
 
-    def create_graph(self, id):
-        self.client.create_graph(id, list(self.nodes.values()))
+    def create_graph(self, id, failure_policy=None):
+        self.client.create_graph(id, list(self.nodes.values()), failure_policy)
 
     def list_files(self):
         if not self.graph_id:
@@ -48,7 +48,9 @@ def bilateral_validate(input: List[str], d: int, sigmaColor: float, sigmaSpace:
     category="Filtering",
     description="Applies a bilateral filter to the input image.",
     color="#FF8A65",
-    icon="BlurIcon"
+    icon="BlurIcon",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def bilateral_filter(input: List[str], d: int = 9, sigmaColor: float = 75.0, sigmaSpace: float = 75.0, meta: Metadata = None):
     pass
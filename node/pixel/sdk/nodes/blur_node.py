@@ -40,7 +40,9 @@ def blur_validate(input: List[str], ksize, meta: Metadata):
     category="Filtering",
     description="Blurs an image using the specified kernel size",
     color="#FF8A65",
-    icon="BlurIcon"
+    icon="BlurIcon",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def blur(input: List[str], ksize={"x": 3, "y": 3}, meta: Metadata = None):
     pass
@@ -41,7 +41,9 @@ def box_filter_validate(input: List[str], ksize, ddepth, meta: Metadata):
     category="Filtering",
     description="Blurs an image using the specified kernel size",
     color="#FF8A65",
-    icon="BlurIcon"
+    icon="BlurIcon",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def box_filter(input: List[str], ksize={"x": 1, "y": 1}, ddepth: int = 0, meta: Metadata = None):
     pass
@@ -74,7 +74,9 @@ def gaussian_blur_validate(
     category="Filtering",
     description="Blurs an image using a Gaussian kernel",
     color="#FF8A65",
-    icon="BlurIcon"
+    icon="BlurIcon",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def gaussian_blur(
     input: List[str],
@@ -25,6 +25,8 @@ def grayscale_exec(input: List[str], meta: Metadata):
     outputs={"output": {"type": "FILEPATH_ARRAY", "required": True}},
     display_name="Grayscale",
     category="Preprocessing",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def grayscale(input: List[str], meta: Metadata = None):
     pass
\ No newline at end of file
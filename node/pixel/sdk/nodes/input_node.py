@@ -14,7 +14,9 @@ from pixel.sdk.models.node_decorator import node
     category="IO",
     description="Input files",
     color="#AED581",
-    icon="InputIcon"
+    icon="InputIcon",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def input_node(input: Set[str] = set(), meta: Metadata = None):
     output_files = []
@@ -41,7 +41,9 @@ def median_blur_validate(input: List[str], ksize: int, meta: Metadata = None):
     category="Filtering",
     description="Blurs an image using the specified kernel size",
     color="#FF8A65",
-    icon="BlurIcon"
+    icon="BlurIcon",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def median_blur(input: List[str], ksize: int = 3, meta: Metadata = None):
     pass
@@ -26,6 +26,8 @@ def normalize_exec(input: List[str], meta: Metadata):
     display_name="Normalize",
     category="Preprocessing",
     description="Scale pixels to [0,1]",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def normalize(input: List[str], meta: Metadata = None):
     pass
\ No newline at end of file
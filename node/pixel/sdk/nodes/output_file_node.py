@@ -10,7 +10,9 @@ from pixel.sdk.models.node_decorator import node
     category="IO",
     description="Output to a file",
     color="#AED581",
-    icon="OutputIcon"
+    icon="OutputIcon",
+    deterministic=False,
+    retryable=False
 )
 def output_file(content: str = "", filename: str = "new.txt", meta=None):
     return {}
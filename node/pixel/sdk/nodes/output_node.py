@@ -15,7 +15,9 @@ from pixel.sdk.models.node_decorator import node
     category="IO",
     description="Output files to a folder",
     color="#AED581",
-    icon="OutputIcon"
+    icon="OutputIcon",
+    deterministic=False,
+    retryable=False
 )
 def output(input: List[str], prefix: str = "", folder: str = "", meta: Metadata = None):
     for filepath in input:
@@ -38,6 +38,8 @@ def resize_validate(input: List[str], width: int, height: int, meta: Metadata):
     display_name="Resize",
     category="Preprocessing",
     description="Resize image to fixed size",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def resize(input: List[str], width=224, height=224, meta: Metadata = None):
     pass
\ No newline at end of file
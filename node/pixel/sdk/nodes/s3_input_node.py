@@ -15,7 +15,8 @@ logger = logging.getLogger(__name__)
     category="IO",
     description="Load files from S3",
     color="#AED581",
-    icon="S3Icon"
+    icon="S3Icon",
+    deterministic=False
 )
 def s3_input(
     conn_id: str,
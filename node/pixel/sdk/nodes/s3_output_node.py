@@ -22,7 +22,9 @@ logger = logging.getLogger(__name__)
     category="IO",
     description="Output files to S3",
     color="#AED581",
-    icon="OutputIcon"
+    icon="OutputIcon",
+    deterministic=False,
+    retryable=False
 )
 def s3_output(
     input: List[str],
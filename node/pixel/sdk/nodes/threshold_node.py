@@ -33,6 +33,8 @@ def threshold_exec(input: List[str], thresh: float, meta: Metadata):
     outputs={"output": {"type": "FILEPATH_ARRAY", "required": True, "widget": "LABEL", "default": list()}},
     display_name="Threshold",
     category="Preprocessing",
+    split_input="input",
+    merge_outputs=["output"]
 )
 def threshold(input: List[str], thresh=127.0, meta: Metadata = None):
     pass
\ No newline at end of file
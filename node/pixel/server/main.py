@@ -1,11 +1,14 @@
+import asyncio
 import logging
 import os
+import re
 from contextlib import asynccontextmanager
 
 from fastapi import FastAPI, Request
 from fastapi.responses import JSONResponse
 import socket
 
+from starlette.concurrency import run_in_threadpool
 from starlette.middleware.cors import CORSMiddleware
 import sys
 
@@ -21,6 +24,8 @@ logging.basicConfig(
 )
 logger = logging.getLogger(__name__)
 
+NODE_REFERENCE = re.compile(r"^@node:(\d+):(\w+)$")
+
 MODEL_PATH = "/app/models/mobilenetv2_100_Opset18.onnx"
 SESSION = None
 INPUT_NAME = None
@@ -80,10 +85,11 @@ async def exec_node(request: Request):
 
         node = get_node(data)
         outputs = {}
+        # Off the event loop, so concurrent shards of one node run side by side
         if node.metadata.get("image"):
-            execute_in_docker(node, data)
+            await run_in_threadpool(execute_in_docker, node, data)
         else:
-            outputs = node.exec_params(data)
+            outputs = await run_in_threadpool(node.exec_params, data)
 
         return {"outputs": outputs}
     except Exception as e:
@@ -93,6 +99,82 @@ async def exec_node(request: Request):
             status_code=400
         )
 
+@app.post("/exec_chain")
+async def exec_chain(request: Request):
+    """Runs a chain of nodes in order, feeding each node the outputs of earlier ones.
+
+    Inputs of the form ``@node:<id>:<output>`` that point at an earlier node of the chain
+    are replaced by that node's output. Results are returned for every node that ran;
+    a node failure stops the chain and is reported next to them, so the engine can record
+    the nodes that completed before it.
+    """
+    data = await request.json()
+    results = []
+    outputs_by_id = {}
+
+    for node_data in data.get("nodes", []):
+        node_id = node_data.get("meta", {}).get("node_id")
+        try:
+            inputs = {
+                key: resolve_chain_reference(value, outputs_by_id)
+                for key, value in (node_data.get("inputs") or {}).items()
+            }
+            node_data = {**node_data, "inputs": inputs}
+            logger.info(f"Executing chained node: {node_data.get('meta', {}).get('type')}")
+
+            node = get_node(node_data)
+            node.validate_params(inputs)
+            outputs = {}
+            if node.metadata.get("image"):
+                await run_in_threadpool(execute_in_docker, node, node_data)
+            else:
+                outputs = await run_in_threadpool(node.exec_params, node_data)
+        except Exception as e:
+            logger.error(f"Chain execution error at node {node_id}: {str(e)}", exc_info=True)
+            return {"results": results, "error": str(e), "node_id": node_id}
+
+        outputs_by_id[node_id] = outputs
+        results.append({"outputs": outputs})
+
+    return {"results": results}
+
+
+@app.post("/exec_batch")
+async def exec_batch(request: Request):
+    """Validates and executes independent nodes concurrently.
+
+    Returns one result per node, in request order. A failing node only sets ``error`` on
+    its own result.
+    """
+    data = await request.json()
+    results = await asyncio.gather(*(exec_batched_node(node_data) for node_data in data.get("nodes", [])))
+    return {"results": list(results)}
+
+
+async def exec_batched_node(node_data):
+    try:
+        logger.info(f"Executing batched node: {node_data.get('meta', {}).get('type')}")
+        node = get_node(node_data)
+        node.validate_params(node_data.get("inputs"))
+        outputs = {}
+        if node.metadata.get("image"):
+            await run_in_threadpool(execute_in_docker, node, node_data)
+        else:
+            outputs = await run_in_threadpool(node.exec_params, node_data)
+        return {"outputs": outputs}
+    except Exception as e:
+        logger.error(f"Batched execution error: {str(e)}", exc_info=True)
+        return {"error": str(e)}
+
+
+def resolve_chain_reference(value, outputs_by_id):
+    if not isinstance(value, str):
+        return value
+    match = NODE_REFERENCE.match(value)
+    if not match or int(match.group(1)) not in outputs_by_id:
+        return value
+    return outputs_by_id[int(match.group(1))].get(match.group(2))
+
 @app.post("/load_nodes")
 async def load_nodes():
     try: